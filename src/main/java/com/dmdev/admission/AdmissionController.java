@@ -0,0 +1,56 @@
+package com.dmdev.admission;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class AdmissionController {
+
+    private final Map<OperationType, Bulkhead> bulkheads = new EnumMap<>(OperationType.class);
+
+    public AdmissionController(Map<OperationType, Bulkhead> bulkheads) {
+        for (var operation : OperationType.values()) {
+            var bulkhead = bulkheads.get(operation);
+            if (bulkhead == null) {
+                throw new IllegalArgumentException("No bulkhead configured for " + operation);
+            }
+            this.bulkheads.put(operation, bulkhead);
+        }
+    }
+
+    public static AdmissionController withDefaults() {
+        Map<OperationType, Bulkhead> bulkheads = new EnumMap<>(OperationType.class);
+        bulkheads.put(OperationType.UPSERT, defaultBulkhead(OperationType.UPSERT, 8, 32, 64));
+        bulkheads.put(OperationType.CANCEL, defaultBulkhead(OperationType.CANCEL, 4, 16, 32));
+        bulkheads.put(OperationType.EXPIRE, defaultBulkhead(OperationType.EXPIRE, 4, 16, 32));
+        return new AdmissionController(bulkheads);
+    }
+
+    public <T> T call(OperationType operation, Supplier<T> action) {
+        return bulkheads.get(operation).call(action);
+    }
+
+    public void run(OperationType operation, Runnable action) {
+        bulkheads.get(operation).run(action);
+    }
+
+    public Bulkhead getBulkhead(OperationType operation) {
+        return bulkheads.get(operation);
+    }
+
+    private static Bulkhead defaultBulkhead(OperationType operation, int initialLimit, int maxLimit, int maxQueueSize) {
+        return Bulkhead.builder()
+                .operation(operation)
+                .limit(AimdLimit.builder()
+                        .initialLimit(initialLimit)
+                        .minLimit(1)
+                        .maxLimit(maxLimit)
+                        .backoffRatio(0.9)
+                        .latencyThreshold(Duration.ofMillis(250))
+                        .build())
+                .maxQueueSize(maxQueueSize)
+                .maxQueueWait(Duration.ofMillis(100))
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package com.dmdev.admission;
+
+import com.dmdev.deadline.Deadline;
+import com.dmdev.exception.AdmissionRejectedException;
+import com.dmdev.exception.ConnectionPoolExhaustedException;
+import com.dmdev.exception.DeadlineExceededException;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+public class Bulkhead {
+
+    private static final Set<String> OVERLOAD_SQL_STATES = Set.of(
+            "57014",
+            "53300",
+            "HYT00"
+    );
+
+    @Getter
+    private final OperationType operation;
+    @Getter
+    private final AimdLimit limit;
+    private final int maxQueueSize;
+    private final long maxQueueWaitNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private int inFlight;
+    private int queued;
+
+    @Builder
+    private Bulkhead(OperationType operation, AimdLimit limit, int maxQueueSize, Duration maxQueueWait) {
+        this.operation = operation;
+        this.limit = limit;
+        this.maxQueueSize = maxQueueSize;
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+    }
+
+    public <T> T call(Supplier<T> action) {
+        acquire();
+        var startedAt = System.nanoTime();
+        var dropped = false;
+        try {
+            return action.get();
+        } catch (Exception e) {
+            dropped = isOverload(e);
+            throw e;
+        } finally {
+            release(System.nanoTime() - startedAt, dropped);
+        }
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire() {
+        lock.lock();
+        try {
+            if (inFlight < limit.getLimit()) {
+                inFlight++;
+                return;
+            }
+            if (queued >= maxQueueSize) {
+                throw new AdmissionRejectedException(String.format(
+                        "%s rejected: %d in flight, %d queued", operation, inFlight, queued));
+            }
+            queued++;
+            try {
+                awaitPermit();
+                inFlight++;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitPermit() {
+        var deadline = Deadline.current().orElse(null);
+        var boundByDeadline = deadline != null && deadline.remainingNanos() < maxQueueWaitNanos;
+        var remainingNanos = boundByDeadline ? deadline.remainingNanos() : maxQueueWaitNanos;
+        try {
+            while (inFlight >= limit.getLimit()) {
+                if (remainingNanos <= 0) {
+                    if (boundByDeadline) {
+                        throw new DeadlineExceededException(String.format(
+                                "%s exceeded its deadline while queued for a permit", operation));
+                    }
+                    throw new AdmissionRejectedException(String.format(
+                            "%s rejected: no permit within %d ms", operation, maxQueueWaitNanos / 1_000_000));
+                }
+                remainingNanos = permitReleased.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdmissionRejectedException(String.format("%s rejected: interrupted while queued", operation));
+        }
+    }
+
+    private void release(long latencyNanos, boolean dropped) {
+        lock.lock();
+        try {
+            limit.onSample(latencyNanos, inFlight, dropped);
+            inFlight--;
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean isOverload(Throwable throwable) {
+        for (var current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof DeadlineExceededException
+                || current instanceof ConnectionPoolExhaustedException
+                || current instanceof AdmissionRejectedException
+                || current instanceof SQLTimeoutException
+                || current instanceof SQLException sqlException && OVERLOAD_SQL_STATES.contains(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,5 @@
+package com.dmdev.admission;
+
+public enum OperationType {
+    UPSERT, CANCEL, EXPIRE
+}
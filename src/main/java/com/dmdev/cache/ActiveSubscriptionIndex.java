@@ -0,0 +1,176 @@
+package com.dmdev.cache;
+
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import com.dmdev.service.SubscriptionChangeListener;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+import static com.dmdev.cache.IntIntMap.NO_VALUE;
+
+public class ActiveSubscriptionIndex implements SubscriptionChangeListener {
+
+    private final StampedLock lock = new StampedLock();
+    private final IntIntMap entryById;
+    private final IntIntMap headByUserId;
+    private final NameInterner names = new NameInterner();
+    private int[] userIds;
+    private int[] nameIds;
+    private byte[] providers;
+    private long[] expirations;
+    private int[] next;
+    private int allocated;
+    private int freeHead = NO_VALUE;
+
+    public ActiveSubscriptionIndex(int expectedSize) {
+        var capacity = Math.max(16, expectedSize);
+        entryById = new IntIntMap(capacity);
+        headByUserId = new IntIntMap(capacity);
+        userIds = new int[capacity];
+        nameIds = new int[capacity];
+        providers = new byte[capacity];
+        expirations = new long[capacity];
+        next = new int[capacity];
+    }
+
+    public boolean hasActiveSubscription(int userId, String name, Provider provider, Instant now) {
+        return hasActiveSubscription(userId, name, provider, now.toEpochMilli());
+    }
+
+    public boolean hasActiveSubscription(int userId, String name, Provider provider, long nowMillis) {
+        var stamp = lock.readLock();
+        try {
+            var nameId = names.idOf(name);
+            if (nameId == NameInterner.NO_ID) {
+                return false;
+            }
+            for (int entry = headByUserId.get(userId); entry != NO_VALUE; entry = next[entry]) {
+                if (nameIds[entry] == nameId
+                    && providers[entry] == provider.ordinal()
+                    && expirations[entry] > nowMillis) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void onChange(Subscription subscription) {
+        if (subscription.getId() == null) {
+            return;
+        }
+        var stamp = lock.writeLock();
+        try {
+            if (subscription.getStatus() == Status.ACTIVE) {
+                put(subscription);
+            } else {
+                removeEntry(subscription.getId());
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void onDelete(Integer subscriptionId) {
+        remove(subscriptionId);
+    }
+
+    public void remove(int subscriptionId) {
+        var stamp = lock.writeLock();
+        try {
+            removeEntry(subscriptionId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public long loadChanges(SubscriptionDao subscriptionDao, long cursor, int batchSize) {
+        var batch = subscriptionDao.findChangedSince(cursor, batchSize);
+        while (!batch.isEmpty()) {
+            batch.getSubscriptions().forEach(this::onChange);
+            batch.getDeletedIds().forEach(this::remove);
+            cursor = batch.getCursor();
+            if (batch.isUnsettled()) {
+                break;
+            }
+            batch = subscriptionDao.findChangedSince(cursor, batchSize);
+        }
+        return cursor;
+    }
+
+    public int size() {
+        var stamp = lock.readLock();
+        try {
+            return entryById.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void put(Subscription subscription) {
+        var entry = entryById.get(subscription.getId());
+        if (entry != NO_VALUE && userIds[entry] != subscription.getUserId()) {
+            removeEntry(subscription.getId());
+            entry = NO_VALUE;
+        }
+        if (entry == NO_VALUE) {
+            entry = allocate();
+            userIds[entry] = subscription.getUserId();
+            next[entry] = headByUserId.get(subscription.getUserId());
+            headByUserId.put(subscription.getUserId(), entry);
+            entryById.put(subscription.getId(), entry);
+        }
+        nameIds[entry] = names.intern(subscription.getName());
+        providers[entry] = (byte) subscription.getProvider().ordinal();
+        expirations[entry] = subscription.getExpirationDate().toEpochMilli();
+    }
+
+    private void removeEntry(int subscriptionId) {
+        var entry = entryById.remove(subscriptionId);
+        if (entry == NO_VALUE) {
+            return;
+        }
+        var userId = userIds[entry];
+        var head = headByUserId.get(userId);
+        if (head == entry) {
+            if (next[entry] == NO_VALUE) {
+                headByUserId.remove(userId);
+            } else {
+                headByUserId.put(userId, next[entry]);
+            }
+        } else {
+            var previous = head;
+            while (next[previous] != entry) {
+                previous = next[previous];
+            }
+            next[previous] = next[entry];
+        }
+        next[entry] = freeHead;
+        freeHead = entry;
+    }
+
+    private int allocate() {
+        if (freeHead != NO_VALUE) {
+            var entry = freeHead;
+            freeHead = next[entry];
+            return entry;
+        }
+        if (allocated == userIds.length) {
+            var capacity = allocated + (allocated >> 1);
+            userIds = Arrays.copyOf(userIds, capacity);
+            nameIds = Arrays.copyOf(nameIds, capacity);
+            providers = Arrays.copyOf(providers, capacity);
+            expirations = Arrays.copyOf(expirations, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return allocated++;
+    }
+}
@@ -0,0 +1,70 @@
+package com.dmdev.cache;
+
+import java.util.Arrays;
+
+class NameInterner {
+
+    static final int NO_ID = -1;
+
+    private String[] table = new String[64];
+    private int[] tableIds = new int[64];
+    private String[] names = new String[32];
+    private int size;
+
+    int idOf(String name) {
+        var mask = table.length - 1;
+        for (int slot = slot(name, mask); table[slot] != null; slot = (slot + 1) & mask) {
+            if (table[slot].equals(name)) {
+                return tableIds[slot];
+            }
+        }
+        return NO_ID;
+    }
+
+    int intern(String name) {
+        var id = idOf(name);
+        if (id != NO_ID) {
+            return id;
+        }
+        if ((size + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+        names[size] = name;
+        insert(name, size);
+        return size++;
+    }
+
+    String nameOf(int id) {
+        return names[id];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        table = new String[capacity];
+        tableIds = new int[capacity];
+        for (int id = 0; id < size; id++) {
+            insert(names[id], id);
+        }
+    }
+
+    private void insert(String name, int id) {
+        var mask = table.length - 1;
+        var slot = slot(name, mask);
+        while (table[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = name;
+        tableIds[slot] = id;
+    }
+
+    private static int slot(String name, int mask) {
+        var hash = name.hashCode() * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
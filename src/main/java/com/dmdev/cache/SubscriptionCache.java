@@ -0,0 +1,197 @@
+package com.dmdev.cache;
+
+import com.dmdev.config.AppConfig;
+import com.dmdev.config.ConfigListener;
+import com.dmdev.config.ConfigManager;
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.entity.Subscription;
+import com.dmdev.service.SubscriptionChangeListener;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SubscriptionCache implements ConfigListener, SubscriptionChangeListener {
+
+    private static final int RECONCILE_BATCH_SIZE = 1000;
+
+    private final SubscriptionDao subscriptionDao;
+    private final Path snapshotPath;
+    private final ConcurrentMap<Integer, Subscription> entries = new ConcurrentHashMap<>();
+    private final Set<Integer> evicted = ConcurrentHashMap.newKeySet();
+    private final AtomicLong maintenanceFailures = new AtomicLong();
+    private volatile int maxSize;
+    private volatile SubscriptionSnapshot snapshot = SubscriptionSnapshot.empty();
+    private volatile long cursor;
+    private volatile Exception lastMaintenanceError;
+
+    public SubscriptionCache(SubscriptionDao subscriptionDao, Path snapshotPath, int maxSize) {
+        this.subscriptionDao = subscriptionDao;
+        this.snapshotPath = snapshotPath;
+        this.maxSize = maxSize;
+    }
+
+    public static SubscriptionCache withDefaults() {
+        return fromConfig(SubscriptionDao.getInstance(), ConfigManager.getInstance());
+    }
+
+    public static SubscriptionCache fromConfig(SubscriptionDao subscriptionDao, ConfigManager configManager) {
+        var config = configManager.current();
+        var cache = new SubscriptionCache(subscriptionDao, config.getSubscriptionSnapshotPath(),
+                config.getSubscriptionCacheMaxSize());
+        configManager.addListener(cache);
+        return cache;
+    }
+
+    public synchronized int warmStart() {
+        if (Files.exists(snapshotPath)) {
+            var mapped = SubscriptionSnapshot.open(snapshotPath);
+            evicted.clear();
+            cursor = mapped.getCursor();
+            snapshot = mapped;
+        }
+        return reconcile();
+    }
+
+    public Optional<Subscription> findById(Integer id) {
+        var cached = entries.get(id);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        if (!evicted.contains(id)) {
+            var fromSnapshot = snapshot.findById(id);
+            if (fromSnapshot.isPresent()) {
+                remember(fromSnapshot.get());
+                return fromSnapshot;
+            }
+        }
+        var loaded = subscriptionDao.findById(id);
+        loaded.ifPresent(this::remember);
+        return loaded;
+    }
+
+    public void evict(Integer id) {
+        if (snapshot.contains(id)) {
+            evicted.add(id);
+        }
+        entries.remove(id);
+    }
+
+    @Override
+    public void onChange(Subscription subscription) {
+        if (subscription.getId() != null) {
+            apply(copy(subscription));
+        }
+    }
+
+    @Override
+    public void onDelete(Integer subscriptionId) {
+        evict(subscriptionId);
+    }
+
+    public synchronized int reconcile() {
+        var applied = 0;
+        var batch = subscriptionDao.findChangedSince(cursor, RECONCILE_BATCH_SIZE);
+        while (!batch.isEmpty()) {
+            for (var subscription : batch.getSubscriptions()) {
+                apply(subscription);
+                applied++;
+            }
+            for (var id : batch.getDeletedIds()) {
+                evict(id);
+                applied++;
+            }
+            cursor = batch.getCursor();
+            if (batch.isUnsettled()) {
+                break;
+            }
+            batch = subscriptionDao.findChangedSince(cursor, RECONCILE_BATCH_SIZE);
+        }
+        return applied;
+    }
+
+    public synchronized int writeSnapshot() {
+        Map<Integer, Subscription> records = new HashMap<>();
+        for (var subscription : snapshot.findAll()) {
+            if (!evicted.contains(subscription.getId())) {
+                records.put(subscription.getId(), subscription);
+            }
+        }
+        records.putAll(entries);
+        return SubscriptionSnapshot.write(snapshotPath, records.values(), cursor);
+    }
+
+    public void scheduleMaintenance(ScheduledExecutorService scheduler,
+                                    Duration reconcileInterval,
+                                    Duration snapshotInterval) {
+        scheduler.scheduleWithFixedDelay(() -> runMaintenance(this::reconcile),
+                0, reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(() -> runMaintenance(this::writeSnapshot),
+                snapshotInterval.toMillis(), snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public long getMaintenanceFailures() {
+        return maintenanceFailures.get();
+    }
+
+    public Optional<Exception> getLastMaintenanceError() {
+        return Optional.ofNullable(lastMaintenanceError);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized void onConfigChange(AppConfig config) {
+        maxSize = config.getSubscriptionCacheMaxSize();
+        var iterator = entries.keySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            var id = iterator.next();
+            iterator.remove();
+            if (snapshot.contains(id)) {
+                evicted.add(id);
+            }
+        }
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    private void runMaintenance(Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            maintenanceFailures.incrementAndGet();
+            lastMaintenanceError = e;
+        }
+    }
+
+    private void apply(Subscription subscription) {
+        if (entries.containsKey(subscription.getId()) || entries.size() < maxSize) {
+            entries.put(subscription.getId(), subscription);
+        } else {
+            evict(subscription.getId());
+        }
+    }
+
+    private void remember(Subscription subscription) {
+        if (entries.size() < maxSize) {
+            entries.putIfAbsent(subscription.getId(), copy(subscription));
+        }
+    }
+
+    private Subscription copy(Subscription subscription) {
+        return subscription.toBuilder().build();
+    }
+}
@@ -0,0 +1,230 @@
+package com.dmdev.cache;
+
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import lombok.SneakyThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public class SubscriptionSnapshot {
+
+    private static final int MAGIC = 0x53554253;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int NAME_BYTES = 192;
+    private static final int RECORD_SIZE = 4 + 4 + 1 + 1 + 2 + 8 + NAME_BYTES;
+    private static final int USER_INDEX_ENTRY_SIZE = 8;
+    private static final int MAX_SIZE = (Integer.MAX_VALUE - HEADER_SIZE) / (RECORD_SIZE + USER_INDEX_ENTRY_SIZE);
+
+    private static final int ID_OFFSET = 0;
+    private static final int USER_ID_OFFSET = 4;
+    private static final int PROVIDER_OFFSET = 8;
+    private static final int STATUS_OFFSET = 9;
+    private static final int NAME_LENGTH_OFFSET = 10;
+    private static final int EXPIRATION_OFFSET = 12;
+    private static final int NAME_OFFSET = 20;
+
+    private static final Provider[] PROVIDERS = Provider.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private static final SubscriptionSnapshot EMPTY =
+            new SubscriptionSnapshot(ByteBuffer.allocate(0), 0, 0);
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final long cursor;
+
+    private SubscriptionSnapshot(ByteBuffer buffer, int size, long cursor) {
+        this.buffer = buffer;
+        this.size = size;
+        this.cursor = cursor;
+    }
+
+    public static SubscriptionSnapshot empty() {
+        return EMPTY;
+    }
+
+    @SneakyThrows
+    public static SubscriptionSnapshot open(Path path) {
+        try (var channel = FileChannel.open(path, READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IllegalStateException("Not a subscription snapshot: " + path);
+            }
+            var size = buffer.getInt(8);
+            if (size < 0 || size > MAX_SIZE) {
+                throw new IllegalStateException("Subscription snapshot is too large: " + path);
+            }
+            if (buffer.limit() != HEADER_SIZE + (long) size * (RECORD_SIZE + USER_INDEX_ENTRY_SIZE)) {
+                throw new IllegalStateException("Truncated subscription snapshot: " + path);
+            }
+            return new SubscriptionSnapshot(buffer, size, buffer.getLong(16));
+        }
+    }
+
+    @SneakyThrows
+    public static int write(Path path, Collection<Subscription> subscriptions, long cursor) {
+        var sorted = subscriptions.stream()
+                .filter(subscription -> subscription.getId() != null)
+                .sorted(Comparator.comparing(Subscription::getId))
+                .toList();
+        List<Subscription> records = new ArrayList<>(sorted.size());
+        List<byte[]> names = new ArrayList<>(sorted.size());
+        for (var subscription : sorted) {
+            var name = encodeName(subscription.getName());
+            if (name.length <= NAME_BYTES) {
+                records.add(subscription);
+                names.add(name);
+            }
+        }
+
+        var size = records.size();
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                    "Subscription snapshot supports at most %d records but got %d", MAX_SIZE, size));
+        }
+        var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(temporary, CREATE, READ, WRITE, TRUNCATE_EXISTING)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + (long) size * (RECORD_SIZE + USER_INDEX_ENTRY_SIZE));
+            buffer.putInt(0, MAGIC)
+                    .putInt(4, VERSION)
+                    .putInt(8, size)
+                    .putInt(12, 0)
+                    .putLong(16, cursor);
+            for (int i = 0; i < size; i++) {
+                writeRecord(buffer, recordOffset(i), records.get(i), names.get(i));
+            }
+            writeUserIndex(buffer, HEADER_SIZE + size * RECORD_SIZE, records);
+            buffer.force();
+        }
+        Files.move(temporary, path, ATOMIC_MOVE, REPLACE_EXISTING);
+        return size;
+    }
+
+    public Optional<Subscription> findById(int id) {
+        var record = indexOf(id);
+        return record < 0
+                ? Optional.empty()
+                : Optional.of(readRecord(recordOffset(record)));
+    }
+
+    public boolean contains(int id) {
+        return indexOf(id) >= 0;
+    }
+
+    public List<Subscription> findByUserId(int userId) {
+        var indexOffset = HEADER_SIZE + size * RECORD_SIZE;
+        var low = 0;
+        var high = size;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (buffer.getInt(indexOffset + middle * USER_INDEX_ENTRY_SIZE) < userId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = low; i < size && buffer.getInt(indexOffset + i * USER_INDEX_ENTRY_SIZE) == userId; i++) {
+            var record = buffer.getInt(indexOffset + i * USER_INDEX_ENTRY_SIZE + 4);
+            subscriptions.add(readRecord(recordOffset(record)));
+        }
+        return subscriptions;
+    }
+
+    public List<Subscription> findAll() {
+        List<Subscription> subscriptions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            subscriptions.add(readRecord(recordOffset(i)));
+        }
+        return subscriptions;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    private int indexOf(int id) {
+        var low = 0;
+        var high = size - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var middleId = buffer.getInt(recordOffset(middle) + ID_OFFSET);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private static int recordOffset(int record) {
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+
+    private static byte[] encodeName(String name) {
+        return name.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeRecord(ByteBuffer buffer, int offset, Subscription subscription, byte[] name) {
+        buffer.putInt(offset + ID_OFFSET, subscription.getId())
+                .putInt(offset + USER_ID_OFFSET, subscription.getUserId())
+                .put(offset + PROVIDER_OFFSET, (byte) subscription.getProvider().ordinal())
+                .put(offset + STATUS_OFFSET, (byte) subscription.getStatus().ordinal())
+                .putShort(offset + NAME_LENGTH_OFFSET, (short) name.length)
+                .putLong(offset + EXPIRATION_OFFSET, subscription.getExpirationDate().toEpochMilli())
+                .put(offset + NAME_OFFSET, name);
+    }
+
+    private static void writeUserIndex(ByteBuffer buffer, int offset, List<Subscription> records) {
+        var byUserId = IntStream.range(0, records.size())
+                .boxed()
+                .sorted(Comparator.comparing(record -> records.get(record).getUserId()))
+                .toList();
+        for (int i = 0; i < byUserId.size(); i++) {
+            int record = byUserId.get(i);
+            buffer.putInt(offset + i * USER_INDEX_ENTRY_SIZE, records.get(record).getUserId())
+                    .putInt(offset + i * USER_INDEX_ENTRY_SIZE + 4, record);
+        }
+    }
+
+    private Subscription readRecord(int offset) {
+        var name = new byte[buffer.getShort(offset + NAME_LENGTH_OFFSET)];
+        buffer.get(offset + NAME_OFFSET, name);
+        return Subscription.builder()
+                .id(buffer.getInt(offset + ID_OFFSET))
+                .userId(buffer.getInt(offset + USER_ID_OFFSET))
+                .name(new String(name, StandardCharsets.UTF_8))
+                .provider(PROVIDERS[buffer.get(offset + PROVIDER_OFFSET)])
+                .expirationDate(Instant.ofEpochMilli(buffer.getLong(offset + EXPIRATION_OFFSET)))
+                .status(STATUSES[buffer.get(offset + STATUS_OFFSET)])
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.dmdev.config;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Function;
+
+@Value
+@Builder(toBuilder = true)
+public class AppConfig {
+
+    public static final String POOL_SIZE_KEY = "db.pool.size";
+    public static final String ACQUIRE_TIMEOUT_KEY = "db.pool.acquire-timeout-ms";
+    public static final String STATEMENT_CACHE_SIZE_KEY = "db.statement-cache.size";
+    public static final String RETRY_MAX_ATTEMPTS_KEY = "db.retry.max-attempts";
+    public static final String RETRY_INITIAL_BACKOFF_KEY = "db.retry.initial-backoff-ms";
+    public static final String RETRY_MAX_BACKOFF_KEY = "db.retry.max-backoff-ms";
+    public static final String RETRY_BUDGET_RATIO_KEY = "db.retry.budget-ratio";
+    public static final String RETRY_BUDGET_MAX_RETRIES_KEY = "db.retry.budget-max-retries";
+    public static final String SUBSCRIPTION_CACHE_MAX_SIZE_KEY = "cache.subscription.max-size";
+    public static final String SUBSCRIPTION_SNAPSHOT_PATH_KEY = "cache.subscription.snapshot-path";
+    public static final String WRITE_CAPACITY_KEY = "write-queue.capacity";
+    public static final String WRITE_OFFER_TIMEOUT_KEY = "write-queue.offer-timeout-ms";
+    public static final String WRITE_BATCH_SIZE_KEY = "write-queue.batch-size";
+    public static final String WRITE_FLUSH_INTERVAL_KEY = "write-queue.flush-interval-ms";
+    public static final String WARMUP_ITERATIONS_KEY = "startup.warmup.iterations";
+    public static final String CHANGE_FEED_SETTLE_LAG_KEY = "change-feed.settle-lag-ms";
+    public static final String ARCHIVE_RETENTION_KEY = "archive.retention-days";
+    public static final String ARCHIVE_CHUNK_SIZE_KEY = "archive.chunk-size";
+    public static final String IDEMPOTENCY_RETENTION_KEY = "idempotency.retention-hours";
+
+    int poolSize;
+    Duration acquireTimeout;
+    int statementCacheSize;
+    int retryMaxAttempts;
+    Duration retryInitialBackoff;
+    Duration retryMaxBackoff;
+    double retryBudgetRatio;
+    int retryBudgetMaxRetries;
+    int subscriptionCacheMaxSize;
+    Path subscriptionSnapshotPath;
+    int writeCapacity;
+    Duration writeOfferTimeout;
+    int writeBatchSize;
+    Duration writeFlushInterval;
+    int warmUpIterations;
+    Duration changeFeedSettleLag;
+    Duration archiveRetention;
+    int archiveChunkSize;
+    Duration idempotencyRetention;
+
+    public static AppConfig parse(Function<String, String> source) {
+        var parser = new Parser(source);
+        return AppConfig.builder()
+                .poolSize(parser.getInt(POOL_SIZE_KEY, 10, 1))
+                .acquireTimeout(parser.getMillis(ACQUIRE_TIMEOUT_KEY, 30_000))
+                .statementCacheSize(parser.getInt(STATEMENT_CACHE_SIZE_KEY, 32, 1))
+                .retryMaxAttempts(parser.getInt(RETRY_MAX_ATTEMPTS_KEY, 3, 1))
+                .retryInitialBackoff(parser.getMillis(RETRY_INITIAL_BACKOFF_KEY, 10))
+                .retryMaxBackoff(parser.getMillis(RETRY_MAX_BACKOFF_KEY, 200))
+                .retryBudgetRatio(parser.getDouble(RETRY_BUDGET_RATIO_KEY, 0.1))
+                .retryBudgetMaxRetries(parser.getInt(RETRY_BUDGET_MAX_RETRIES_KEY, 100, 0))
+                .subscriptionCacheMaxSize(parser.getInt(SUBSCRIPTION_CACHE_MAX_SIZE_KEY, 10_000, 0))
+                .subscriptionSnapshotPath(Path.of(parser.getString(SUBSCRIPTION_SNAPSHOT_PATH_KEY, "subscription-cache.snapshot")))
+                .writeCapacity(parser.getInt(WRITE_CAPACITY_KEY, 10_000, 1))
+                .writeOfferTimeout(parser.getMillis(WRITE_OFFER_TIMEOUT_KEY, 100))
+                .writeBatchSize(parser.getInt(WRITE_BATCH_SIZE_KEY, 100, 1))
+                .writeFlushInterval(parser.getMillis(WRITE_FLUSH_INTERVAL_KEY, 5))
+                .warmUpIterations(parser.getInt(WARMUP_ITERATIONS_KEY, 200, 0))
+                .changeFeedSettleLag(parser.getMillis(CHANGE_FEED_SETTLE_LAG_KEY, 10_000))
+                .archiveRetention(Duration.ofDays(parser.getInt(ARCHIVE_RETENTION_KEY, 90, 0)))
+                .archiveChunkSize(parser.getInt(ARCHIVE_CHUNK_SIZE_KEY, 1000, 1))
+                .idempotencyRetention(Duration.ofHours(parser.getInt(IDEMPOTENCY_RETENTION_KEY, 24, 1)))
+                .build();
+    }
+
+    private record Parser(Function<String, String> source) {
+
+        private int getInt(String key, int defaultValue, int minValue) {
+            var value = source.apply(key);
+            if (value == null || value.isBlank()) {
+                return defaultValue;
+            }
+            try {
+                var parsed = Integer.parseInt(value.trim());
+                if (parsed < minValue) {
+                    throw new IllegalArgumentException(String.format("%s must be at least %d but was %d", key, minValue, parsed));
+                }
+                return parsed;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("%s is not an integer: %s", key, value), e);
+            }
+        }
+
+        private String getString(String key, String defaultValue) {
+            var value = source.apply(key);
+            return value == null || value.isBlank() ? defaultValue : value.trim();
+        }
+
+        private Duration getMillis(String key, int defaultValue) {
+            return Duration.ofMillis(getInt(key, defaultValue, 0));
+        }
+
+        private double getDouble(String key, double defaultValue) {
+            var value = source.apply(key);
+            if (value == null || value.isBlank()) {
+                return defaultValue;
+            }
+            try {
+                var parsed = Double.parseDouble(value.trim());
+                if (parsed < 0) {
+                    throw new IllegalArgumentException(String.format("%s must not be negative but was %s", key, value));
+                }
+                return parsed;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("%s is not a number: %s", key, value), e);
+            }
+        }
+    }
+}
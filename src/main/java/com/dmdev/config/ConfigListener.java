@@ -0,0 +1,7 @@
+package com.dmdev.config;
+
+@FunctionalInterface
+public interface ConfigListener {
+
+    void onConfigChange(AppConfig config);
+}
@@ -0,0 +1,155 @@
+package com.dmdev.config;
+
+import com.dmdev.util.PropertiesUtil;
+import lombok.SneakyThrows;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+public class ConfigManager implements AutoCloseable {
+
+    private static final String OVERRIDE_FILE_KEY = "config.override-file";
+
+    private final Function<String, String> baseSource;
+    private final Path overrideFile;
+    private final List<ConfigListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile AppConfig current;
+    private volatile RuntimeException lastReloadError;
+    private WatchService watchService;
+
+    public ConfigManager(Function<String, String> baseSource, Path overrideFile) {
+        this.baseSource = baseSource;
+        this.overrideFile = overrideFile;
+        this.current = load();
+    }
+
+    public static ConfigManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public AppConfig current() {
+        return current;
+    }
+
+    public void addListener(ConfigListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ConfigListener listener) {
+        listeners.remove(listener);
+    }
+
+    public Optional<RuntimeException> getLastReloadError() {
+        return Optional.ofNullable(lastReloadError);
+    }
+
+    public synchronized boolean reload() {
+        AppConfig reloaded;
+        try {
+            reloaded = load();
+            lastReloadError = null;
+        } catch (RuntimeException e) {
+            lastReloadError = e;
+            return false;
+        }
+        if (reloaded.equals(current)) {
+            return false;
+        }
+        current = reloaded;
+        for (var listener : listeners) {
+            try {
+                listener.onConfigChange(reloaded);
+            } catch (RuntimeException e) {
+                lastReloadError = e;
+            }
+        }
+        return true;
+    }
+
+    @SneakyThrows(IOException.class)
+    public synchronized void startWatching() {
+        if (overrideFile == null || watchService != null) {
+            return;
+        }
+        var directory = overrideFile.toAbsolutePath().getParent();
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        var service = watchService;
+        Thread.ofPlatform()
+                .name("config-watcher")
+                .daemon()
+                .start(() -> watch(service));
+    }
+
+    @Override
+    @SneakyThrows(IOException.class)
+    public synchronized void close() {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    private void watch(WatchService service) {
+        var fileName = overrideFile.getFileName();
+        try {
+            while (true) {
+                var key = service.take();
+                var changed = key.pollEvents().stream()
+                        .anyMatch(event -> fileName.equals(event.context()));
+                key.reset();
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            return;
+        }
+    }
+
+    private AppConfig load() {
+        var overrides = readOverrides();
+        return AppConfig.parse(key -> {
+            var value = overrides.getProperty(key);
+            return value != null ? value : baseSource.apply(key);
+        });
+    }
+
+    private Properties readOverrides() {
+        var overrides = new Properties();
+        if (overrideFile == null || !Files.isRegularFile(overrideFile)) {
+            return overrides;
+        }
+        try (var reader = Files.newBufferedReader(overrideFile)) {
+            overrides.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read config override file " + overrideFile, e);
+        }
+        return overrides;
+    }
+
+    private static class Holder {
+
+        private static final ConfigManager INSTANCE = create();
+
+        private static ConfigManager create() {
+            var overrideFile = PropertiesUtil.get(OVERRIDE_FILE_KEY);
+            return new ConfigManager(PropertiesUtil::get,
+                    overrideFile == null || overrideFile.isBlank() ? null : Path.of(overrideFile));
+        }
+    }
+}
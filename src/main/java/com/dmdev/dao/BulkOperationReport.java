@@ -0,0 +1,47 @@
+package com.dmdev.dao;
+
+import lombok.Value;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Value
+public class BulkOperationReport {
+    Map<Integer, Outcome> outcomes;
+
+    public static BulkOperationReport of(Collection<Integer> requestedIds, Collection<Integer> affectedIds,
+                                         Outcome outcome) {
+        Map<Integer, Outcome> outcomes = new LinkedHashMap<>();
+        for (var id : requestedIds) {
+            outcomes.put(id, Outcome.NOT_FOUND);
+        }
+        for (var id : affectedIds) {
+            outcomes.put(id, outcome);
+        }
+        return new BulkOperationReport(Collections.unmodifiableMap(outcomes));
+    }
+
+    public Outcome getOutcome(Integer id) {
+        return outcomes.getOrDefault(id, Outcome.NOT_FOUND);
+    }
+
+    public List<Integer> getIds(Outcome outcome) {
+        return outcomes.entrySet().stream()
+                .filter(entry -> entry.getValue() == outcome)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public int count(Outcome outcome) {
+        return (int) outcomes.values().stream()
+                .filter(outcome::equals)
+                .count();
+    }
+
+    public enum Outcome {
+        DELETED, CANCELED, NOT_FOUND
+    }
+}
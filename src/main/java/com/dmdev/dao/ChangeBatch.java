@@ -0,0 +1,18 @@
+package com.dmdev.dao;
+
+import com.dmdev.entity.Subscription;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class ChangeBatch {
+    List<Subscription> subscriptions;
+    List<Integer> deletedIds;
+    long cursor;
+    boolean unsettled;
+
+    public boolean isEmpty() {
+        return subscriptions.isEmpty() && deletedIds.isEmpty();
+    }
+}
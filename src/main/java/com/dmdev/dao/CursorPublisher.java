@@ -0,0 +1,204 @@
+package com.dmdev.dao;
+
+import com.dmdev.util.ConnectionManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CursorPublisher<T> implements Flow.Publisher<T> {
+
+    private final String sql;
+    private final StatementBinder binder;
+    private final RowMapper<T> rowMapper;
+    private final int fetchSize;
+    private final Executor executor;
+
+    public CursorPublisher(String sql, StatementBinder binder, RowMapper<T> rowMapper,
+                           int fetchSize, Executor executor) {
+        this.sql = sql;
+        this.binder = binder;
+        this.rowMapper = rowMapper;
+        this.fetchSize = fetchSize;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        new CursorSubscription(subscriber).schedule();
+    }
+
+    @FunctionalInterface
+    public interface StatementBinder {
+        void bind(PreparedStatement preparedStatement) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
+    private class CursorSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        private volatile Thread drainingThread;
+        private volatile PreparedStatement preparedStatement;
+        private boolean subscribed;
+        private boolean done;
+        private Connection connection;
+        private ResultSet resultSet;
+
+        private CursorSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + " rows, must be positive");
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            var statement = preparedStatement;
+            var thread = drainingThread;
+            if (statement != null && thread != null && thread != Thread.currentThread()) {
+                try {
+                    statement.cancel();
+                } catch (SQLException ignored) {
+                }
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (workInProgress.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            drainingThread = Thread.currentThread();
+            try {
+                var missed = 1;
+                do {
+                    drain();
+                    missed = workInProgress.addAndGet(-missed);
+                } while (missed != 0);
+            } finally {
+                drainingThread = null;
+            }
+        }
+
+        private void drain() {
+            if (done) {
+                return;
+            }
+            try {
+                if (!subscribed) {
+                    subscribed = true;
+                    if (!signal(() -> subscriber.onSubscribe(this))) {
+                        return;
+                    }
+                }
+                if (cancelled) {
+                    finish();
+                    return;
+                }
+                if (invalidRequest != null) {
+                    finish();
+                    subscriber.onError(invalidRequest);
+                    return;
+                }
+                emit();
+            } catch (Throwable e) {
+                finish();
+                if (!cancelled) {
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        private void emit() throws SQLException {
+            var requested = demand.get();
+            if (requested == 0) {
+                return;
+            }
+            if (resultSet == null) {
+                open();
+            }
+            var emitted = 0L;
+            while (emitted < requested && !cancelled) {
+                if (!resultSet.next()) {
+                    finish();
+                    subscriber.onComplete();
+                    return;
+                }
+                var item = rowMapper.map(resultSet);
+                if (!signal(() -> subscriber.onNext(item))) {
+                    return;
+                }
+                emitted++;
+            }
+            if (cancelled) {
+                finish();
+            } else if (requested != Long.MAX_VALUE) {
+                demand.addAndGet(-emitted);
+            }
+        }
+
+        private boolean signal(Runnable signal) {
+            try {
+                signal.run();
+                return true;
+            } catch (Throwable e) {
+                cancelled = true;
+                finish();
+                return false;
+            }
+        }
+
+        private void open() throws SQLException {
+            connection = ConnectionManager.get();
+            connection.setAutoCommit(false);
+            preparedStatement = connection.prepareStatement(sql);
+            preparedStatement.setFetchSize(fetchSize);
+            binder.bind(preparedStatement);
+            resultSet = preparedStatement.executeQuery();
+        }
+
+        private void finish() {
+            done = true;
+            try {
+                if (preparedStatement != null) {
+                    preparedStatement.close();
+                }
+                if (connection != null) {
+                    connection.close();
+                }
+            } catch (SQLException ignored) {
+            } finally {
+                resultSet = null;
+                preparedStatement = null;
+                connection = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.dmdev.dao;
+
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import com.dmdev.util.ConnectionManager;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static lombok.AccessLevel.PACKAGE;
+
+@RequiredArgsConstructor(access = PACKAGE)
+public class IdempotencyKeyDao {
+
+    private static final IdempotencyKeyDao INSTANCE = new IdempotencyKeyDao(Clock.systemUTC());
+
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+
+    private static final String GET_BY_KEY_SQL = """
+            SELECT
+                subscription_id,
+                user_id,
+                name,
+                provider,
+                expiration_date,
+                status
+            FROM idempotency_key
+            WHERE idempotency_key = ?
+            """;
+    private static final String SAVE_SQL = """
+            INSERT INTO idempotency_key
+                (idempotency_key, subscription_id, user_id, name, provider, expiration_date, status, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String DELETE_CREATED_BEFORE_SQL = "DELETE FROM idempotency_key WHERE created_at < ?";
+
+    private final Clock clock;
+
+    public static IdempotencyKeyDao getInstance() {
+        return INSTANCE;
+    }
+
+    @SneakyThrows
+    public Optional<Subscription> findByKey(String idempotencyKey) {
+        try (var connection = ConnectionManager.get();
+             var preparedStatement = connection.prepareStatement(GET_BY_KEY_SQL)) {
+            preparedStatement.setObject(1, idempotencyKey);
+
+            var resultSet = StatementDeadlines.execute(preparedStatement, preparedStatement::executeQuery);
+            return resultSet.next()
+                    ? Optional.of(buildEntity(resultSet))
+                    : Optional.empty();
+        }
+    }
+
+    @SneakyThrows
+    public boolean saveIfAbsent(String idempotencyKey, Subscription subscription) {
+        try (var connection = ConnectionManager.get();
+             var preparedStatement = connection.prepareStatement(SAVE_SQL)) {
+            preparedStatement.setObject(1, idempotencyKey);
+            preparedStatement.setObject(2, subscription.getId());
+            preparedStatement.setObject(3, subscription.getUserId());
+            preparedStatement.setObject(4, subscription.getName());
+            preparedStatement.setObject(5, subscription.getProvider().name());
+            preparedStatement.setObject(6, Timestamp.from(subscription.getExpirationDate()));
+            preparedStatement.setObject(7, subscription.getStatus().name());
+            preparedStatement.setObject(8, Timestamp.from(clock.instant()));
+
+            return StatementDeadlines.execute(preparedStatement, preparedStatement::executeUpdate) > 0;
+        } catch (SQLException e) {
+            if (UNIQUE_VIOLATION_STATE.equals(e.getSQLState())) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @SneakyThrows
+    public int deleteCreatedBefore(Instant instant) {
+        try (var connection = ConnectionManager.get();
+             var preparedStatement = connection.prepareStatement(DELETE_CREATED_BEFORE_SQL)) {
+            preparedStatement.setObject(1, Timestamp.from(instant));
+
+            return StatementDeadlines.execute(preparedStatement, preparedStatement::executeUpdate);
+        }
+    }
+
+    public int deleteExpired(Duration retention) {
+        return deleteCreatedBefore(clock.instant().minus(retention));
+    }
+
+    private Subscription buildEntity(ResultSet resultSet) throws SQLException {
+        return Subscription.builder()
+                .id(resultSet.getObject("subscription_id", Integer.class))
+                .userId(resultSet.getObject("user_id", Integer.class))
+                .name(resultSet.getObject("name", String.class))
+                .provider(Provider.valueOf(resultSet.getObject("provider", String.class)))
+                .expirationDate(resultSet.getObject("expiration_date", Timestamp.class).toInstant())
+                .status(Status.valueOf(resultSet.getObject("status", String.class)))
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.dmdev.dao;
+
+import com.dmdev.deadline.Deadline;
+import com.dmdev.exception.DeadlineExceededException;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+@RequiredArgsConstructor
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final UnaryOperator<V> copier;
+
+    public V execute(K key, Supplier<V> loader) {
+        if (key == null) {
+            return loader.get();
+        }
+        var future = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            try {
+                return copier.apply(join(existing));
+            } catch (DeadlineExceededException e) {
+                if (Deadline.current().map(Deadline::isExpired).orElse(false)) {
+                    throw e;
+                }
+                return loader.get();
+            }
+        }
+        try {
+            var value = loader.get();
+            future.complete(copier.apply(value));
+            return value;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    @SneakyThrows
+    private V join(CompletableFuture<V> future) {
+        var deadline = Deadline.current().orElse(null);
+        try {
+            return deadline == null
+                    ? future.get()
+                    : future.get(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Coalesced read exceeded its deadline", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced read", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.dmdev.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+enum SqlDialect {
+
+    POSTGRESQL {
+        @Override
+        String returningDeleted(String delete, String columns) {
+            return delete + " RETURNING " + columns;
+        }
+
+        @Override
+        String returningUpdated(String update, String columns) {
+            return update + " RETURNING " + columns;
+        }
+    },
+    H2 {
+        @Override
+        String returningDeleted(String delete, String columns) {
+            return "SELECT " + columns + " FROM OLD TABLE (" + delete + ")";
+        }
+
+        @Override
+        String returningUpdated(String update, String columns) {
+            return "SELECT " + columns + " FROM FINAL TABLE (" + update + ")";
+        }
+    };
+
+    private static final String H2_PRODUCT_NAME = "H2";
+
+    static SqlDialect of(Connection connection) throws SQLException {
+        return H2_PRODUCT_NAME.equals(connection.getMetaData().getDatabaseProductName())
+                ? H2
+                : POSTGRESQL;
+    }
+
+    abstract String returningDeleted(String delete, String columns);
+
+    abstract String returningUpdated(String update, String columns);
+}
@@ -0,0 +1,78 @@
+package com.dmdev.dao;
+
+import com.dmdev.deadline.Deadline;
+import com.dmdev.exception.DeadlineExceededException;
+import com.dmdev.retry.RetryPolicy;
+import lombok.experimental.UtilityClass;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@UtilityClass
+class StatementDeadlines {
+
+    private static final String QUERY_CANCELED_SQL_STATE = "57014";
+    private static final ScheduledExecutorService canceller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "statement-canceller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static <T> T execute(Statement statement, RetryPolicy.SqlCall<T> call) throws SQLException {
+        var deadline = Deadline.current().orElse(null);
+        if (deadline == null) {
+            return call.call();
+        }
+        deadline.checkNotExpired("Statement");
+        statement.setQueryTimeout(deadline.remainingSeconds());
+        var guard = new CancellationGuard(statement);
+        var cancellation = canceller.schedule(guard::cancel, deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        try {
+            return call.call();
+        } catch (SQLException e) {
+            if (deadline.isExpired() || e instanceof SQLTimeoutException || QUERY_CANCELED_SQL_STATE.equals(e.getSQLState())) {
+                throw new DeadlineExceededException("Statement cancelled at its deadline: " + e.getMessage(), e);
+            }
+            throw e;
+        } finally {
+            guard.complete();
+            cancellation.cancel(false);
+            resetQuietly(statement);
+        }
+    }
+
+    private static void resetQuietly(Statement statement) {
+        try {
+            statement.setQueryTimeout(0);
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static final class CancellationGuard {
+
+        private final Statement statement;
+        private boolean completed;
+
+        private CancellationGuard(Statement statement) {
+            this.statement = statement;
+        }
+
+        private synchronized void cancel() {
+            if (completed) {
+                return;
+            }
+            try {
+                statement.cancel();
+            } catch (SQLException ignored) {
+            }
+        }
+
+        private synchronized void complete() {
+            completed = true;
+        }
+    }
+}
@@ -1,18 +1,31 @@
 package com.dmdev.dao;
 
+import com.dmdev.config.ConfigManager;
+import com.dmdev.dao.BulkOperationReport.Outcome;
 import com.dmdev.entity.Provider;
 import com.dmdev.entity.Status;
 import com.dmdev.entity.Subscription;
+import com.dmdev.retry.RetryMetrics;
+import com.dmdev.retry.RetryPolicy;
+import com.dmdev.transaction.UnitOfWork;
 import com.dmdev.util.ConnectionManager;
 import lombok.SneakyThrows;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.Collectors;
 
 import static java.sql.Statement.RETURN_GENERATED_KEYS;
 
@@ -20,6 +33,8 @@ public class SubscriptionDao implements Dao<Integer, Subscription> {
 
     private static final SubscriptionDao INSTANCE = new SubscriptionDao();
 
+    private static final int PUBLISHER_FETCH_SIZE = 256;
+
     private static final String GET_ALL_SQL = """
             SELECT
                 id,
@@ -32,46 +47,153 @@ public class SubscriptionDao implements Dao<Integer, Subscription> {
             """;
     private static final String GET_BY_ID_SQL = GET_ALL_SQL + " WHERE id = ?";
     private static final String GET_BY_USER_ID_SQL = GET_ALL_SQL + " WHERE user_id = ?";
+    private static final String GET_BY_STATUS_SQL = GET_ALL_SQL + " WHERE status = ?";
+    private static final String GET_ALL_ARCHIVED_SQL = """
+            SELECT
+                id,
+                user_id,
+                name,
+                provider,
+                expiration_date,
+                status
+            FROM subscription_archive
+            """;
+    private static final String GET_ALL_INCLUDING_ARCHIVED_SQL = GET_ALL_SQL + " UNION ALL " + GET_ALL_ARCHIVED_SQL;
+    private static final String GET_BY_ID_INCLUDING_ARCHIVED_SQL =
+            GET_BY_ID_SQL + " UNION ALL " + GET_ALL_ARCHIVED_SQL + " WHERE id = ?";
+    private static final String GET_BY_USER_ID_INCLUDING_ARCHIVED_SQL =
+            GET_BY_USER_ID_SQL + " UNION ALL " + GET_ALL_ARCHIVED_SQL + " WHERE user_id = ?";
+    private static final String LOCK_ARCHIVABLE_IDS_SQL = """
+            SELECT id
+            FROM subscription
+            WHERE status IN ('CANCELED', 'EXPIRED')
+              AND expiration_date < ?
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE
+            """;
+    private static final String COPY_TO_ARCHIVE_SQL = """
+            INSERT INTO subscription_archive (id, user_id, name, provider, expiration_date, status, archived_at)
+            SELECT id, user_id, name, provider, expiration_date, status, ?
+            FROM subscription
+            WHERE id = ANY (?)
+            """;
+    private static final String DELETE_TOMBSTONES_BEFORE_SQL = "DELETE FROM subscription_tombstone WHERE modified_at < ?";
+    private static final String DELETE_BY_IDS_SQL = "DELETE FROM subscription WHERE id = ANY (?)";
+    private static final String DELETE_BY_USER_ID_SQL = "DELETE FROM subscription WHERE user_id = ?";
+    private static final String INSERT_TOMBSTONE_SQL =
+            "INSERT INTO subscription_tombstone (id, mod_seq, modified_at) "
+            + "VALUES (?, nextval('subscription_mod_seq'), LOCALTIMESTAMP)";
+    private static final String CANCEL_ACTIVE_BY_USER_ID_SQL = """
+            UPDATE subscription
+            SET status = 'CANCELED',
+                mod_seq = nextval('subscription_mod_seq'),
+                modified_at = LOCALTIMESTAMP
+            WHERE user_id = ?
+              AND status = 'ACTIVE'
+            """;
+    private static final String ID_COLUMN = "id";
+    private static final String ENTITY_COLUMNS = "id, user_id, name, provider, expiration_date, status";
+    private static final String GET_CHANGED_SINCE_SQL = """
+            SELECT
+                id,
+                user_id,
+                name,
+                provider,
+                expiration_date,
+                status,
+                mod_seq,
+                modified_at,
+                LOCALTIMESTAMP AS read_at
+            FROM subscription
+            WHERE mod_seq > ?
+            UNION ALL
+            SELECT
+                id,
+                NULL,
+                NULL,
+                NULL,
+                NULL,
+                NULL,
+                mod_seq,
+                modified_at,
+                LOCALTIMESTAMP
+            FROM subscription_tombstone
+            WHERE mod_seq > ?
+            ORDER BY mod_seq
+            LIMIT ?
+            """;
+    private static final String GET_ID_BY_USER_ID_AND_NAME_SQL = "SELECT id FROM subscription WHERE user_id = ? AND name = ?";
     private static final String DELETE_BY_ID_SQL = "DELETE FROM subscription WHERE id = ?";
     private static final String SAVE_SQL =
-            "INSERT INTO subscription (user_id, name, provider, expiration_date, status) VALUES (?, ?, ?, ?, ?)";
+            "INSERT INTO subscription (user_id, name, provider, expiration_date, status, mod_seq, modified_at) "
+            + "VALUES (?, ?, ?, ?, ?, nextval('subscription_mod_seq'), LOCALTIMESTAMP)";
     private static final String UPDATE_BY_ID_SQL = """
             UPDATE subscription
             SET user_id = ?,
                 name = ?,
                 provider = ?,
                 expiration_date = ?,
-                status = ?
+                status = ?,
+                mod_seq = nextval('subscription_mod_seq'),
+                modified_at = LOCALTIMESTAMP
             WHERE id = ?
             """;
 
+    private final SingleFlight<Integer, Optional<Subscription>> findByIdFlight =
+            new SingleFlight<>(subscription -> subscription.map(this::copy));
+    private final SingleFlight<Integer, List<Subscription>> findByUserIdFlight =
+            new SingleFlight<>(this::copyAll);
+    private final Executor publisherExecutor =
+            runnable -> Thread.ofVirtual().name("subscription-publisher").start(runnable);
+    private final RetryPolicy retryPolicy = RetryPolicy.fromConfig(ConfigManager.getInstance().current());
+    private volatile SqlDialect dialect;
+
+    private SubscriptionDao() {
+        ConfigManager.getInstance().addListener(retryPolicy);
+    }
+
     public static SubscriptionDao getInstance() {
         return INSTANCE;
     }
 
+    public RetryMetrics getRetryMetrics() {
+        return retryPolicy.getMetrics();
+    }
+
     @Override
-    @SneakyThrows
     public List<Subscription> findAll() {
-        try (var connection = ConnectionManager.get();
-             var preparedStatement = connection.prepareStatement(GET_ALL_SQL)) {
-            var resultSet = preparedStatement.executeQuery();
-            List<Subscription> subscriptions = new ArrayList<>();
-            while (resultSet.next()) {
-                subscriptions.add(buildEntity(resultSet));
-            }
+        return retryPolicy.execute(() -> loadList(GET_ALL_SQL, null, 0));
+    }
 
-            return subscriptions;
-        }
+    public List<Subscription> findAll(boolean includeArchived) {
+        return includeArchived
+                ? retryPolicy.execute(() -> loadList(GET_ALL_INCLUDING_ARCHIVED_SQL, null, 0))
+                : findAll();
     }
 
     @Override
-    @SneakyThrows
     public Optional<Subscription> findById(Integer id) {
+        if (UnitOfWork.isActive()) {
+            return retryPolicy.execute(() -> loadById(GET_BY_ID_SQL, id, 1));
+        }
+        return findByIdFlight.execute(id, () -> retryPolicy.execute(() -> loadById(GET_BY_ID_SQL, id, 1)));
+    }
+
+    public Optional<Subscription> findById(Integer id, boolean includeArchived) {
+        return includeArchived
+                ? retryPolicy.execute(() -> loadById(GET_BY_ID_INCLUDING_ARCHIVED_SQL, id, 2))
+                : findById(id);
+    }
+
+    private Optional<Subscription> loadById(String sql, Integer id, int parameterCount) throws SQLException {
         try (var connection = ConnectionManager.get();
-             var preparedStatement = connection.prepareStatement(GET_BY_ID_SQL)) {
-            preparedStatement.setObject(1, id);
+             var preparedStatement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= parameterCount; i++) {
+                preparedStatement.setObject(i, id);
+            }
 
-            var resultSet = preparedStatement.executeQuery();
+            var resultSet = StatementDeadlines.execute(preparedStatement, preparedStatement::executeQuery);
             return resultSet.next()
                     ? Optional.of(buildEntity(resultSet))
                     : Optional.empty();
@@ -81,23 +203,106 @@ public class SubscriptionDao implements Dao<Integer, Subscription> {
     @Override
     @SneakyThrows
     public boolean delete(Integer id) {
-        try (var connection = ConnectionManager.get();
-             var preparedStatement = connection.prepareStatement(DELETE_BY_ID_SQL)) {
+        return !deleteReturningIds(DELETE_BY_ID_SQL,
+                (connection, preparedStatement) -> preparedStatement.setObject(1, id)).isEmpty();
+    }
+
+    @SneakyThrows
+    public BulkOperationReport deleteAll(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return BulkOperationReport.of(ids, List.of(), Outcome.DELETED);
+        }
+        var deletedIds = deleteReturningIds(
+                DELETE_BY_IDS_SQL,
+                (connection, preparedStatement) ->
+                        preparedStatement.setArray(1, connection.createArrayOf("INTEGER", ids.toArray())));
+        return BulkOperationReport.of(ids, deletedIds, Outcome.DELETED);
+    }
+
+    @SneakyThrows
+    public BulkOperationReport deleteByUserId(Integer userId) {
+        var deletedIds = deleteReturningIds(
+                DELETE_BY_USER_ID_SQL,
+                (connection, preparedStatement) -> preparedStatement.setObject(1, userId));
+        return BulkOperationReport.of(List.of(), deletedIds, Outcome.DELETED);
+    }
+
+    public List<Subscription> cancelAllByUserId(Integer userId) {
+        return retryPolicy.executeNonIdempotent(() -> cancelActiveByUserId(userId));
+    }
+
+    private List<Integer> deleteReturningIds(String delete, ParameterBinder binder) throws SQLException {
+        try (var connection = ConnectionManager.get()) {
+            connection.setAutoCommit(false);
+            try (var deleteStatement = connection.prepareStatement(
+                    dialect(connection).returningDeleted(delete, ID_COLUMN));
+                 var tombstoneStatement = connection.prepareStatement(INSERT_TOMBSTONE_SQL)) {
+                binder.bind(connection, deleteStatement);
+
+                var resultSet = StatementDeadlines.execute(deleteStatement, deleteStatement::executeQuery);
+                List<Integer> ids = new ArrayList<>();
+                while (resultSet.next()) {
+                    ids.add(resultSet.getObject("id", Integer.class));
+                }
+                insertTombstones(tombstoneStatement, ids);
+                connection.commit();
+
+                return ids;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void insertTombstones(PreparedStatement preparedStatement, List<Integer> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (var id : ids) {
             preparedStatement.setObject(1, id);
+            preparedStatement.addBatch();
+        }
+        StatementDeadlines.execute(preparedStatement, preparedStatement::executeBatch);
+    }
 
-            return preparedStatement.executeUpdate() > 0;
+    private List<Subscription> cancelActiveByUserId(Integer userId) throws SQLException {
+        try (var connection = ConnectionManager.get();
+             var preparedStatement = connection.prepareStatement(
+                     dialect(connection).returningUpdated(CANCEL_ACTIVE_BY_USER_ID_SQL, ENTITY_COLUMNS))) {
+            preparedStatement.setObject(1, userId);
+
+            var resultSet = StatementDeadlines.execute(preparedStatement, preparedStatement::executeQuery);
+            List<Subscription> subscriptions = new ArrayList<>();
+            while (resultSet.next()) {
+                subscriptions.add(buildEntity(resultSet));
+            }
+
+            return subscriptions;
+        }
+    }
+
+    private SqlDialect dialect(Connection connection) throws SQLException {
+        var current = dialect;
+        if (current == null) {
+            current = SqlDialect.of(connection);
+            dialect = current;
         }
+        return current;
     }
 
     @Override
-    @SneakyThrows
     public Subscription update(Subscription entity) {
+        return retryPolicy.executeNonIdempotent(() -> updateById(entity));
+    }
+
+    private Subscription updateById(Subscription entity) throws SQLException {
         try (var connection = ConnectionManager.get();
              var preparedStatement = connection.prepareStatement(UPDATE_BY_ID_SQL)) {
             prepareStatementToUpsert(preparedStatement, entity);
             preparedStatement.setObject(6, entity.getId());
 
-            preparedStatement.executeUpdate();
+            StatementDeadlines.execute(preparedStatement, preparedStatement::executeUpdate);
             return entity;
         }
     }
@@ -109,7 +314,7 @@ public class SubscriptionDao implements Dao<Integer, Subscription> {
              var preparedStatement = connection.prepareStatement(SAVE_SQL, RETURN_GENERATED_KEYS)) {
             prepareStatementToUpsert(preparedStatement, entity);
 
-            preparedStatement.executeUpdate();
+            StatementDeadlines.execute(preparedStatement, preparedStatement::executeUpdate);
 
             var generatedKeys = preparedStatement.getGeneratedKeys();
             generatedKeys.next();
@@ -120,12 +325,112 @@ public class SubscriptionDao implements Dao<Integer, Subscription> {
     }
 
     @SneakyThrows
+    public List<Subscription> upsertAll(List<Subscription> entities) {
+        try (var connection = ConnectionManager.get()) {
+            connection.setAutoCommit(false);
+            try (var findStatement = connection.prepareStatement(GET_ID_BY_USER_ID_AND_NAME_SQL);
+                 var updateStatement = connection.prepareStatement(UPDATE_BY_ID_SQL);
+                 var insertStatement = connection.prepareStatement(SAVE_SQL, RETURN_GENERATED_KEYS)) {
+                try {
+                    for (var entity : entities) {
+                        if (entity.getId() == null) {
+                            entity.setId(findId(findStatement, entity));
+                        }
+                        if (entity.getId() != null) {
+                            prepareStatementToUpsert(updateStatement, entity);
+                            updateStatement.setObject(6, entity.getId());
+                            updateStatement.addBatch();
+                        } else {
+                            prepareStatementToUpsert(insertStatement, entity);
+                            StatementDeadlines.execute(insertStatement, insertStatement::executeUpdate);
+                            var generatedKeys = insertStatement.getGeneratedKeys();
+                            generatedKeys.next();
+                            entity.setId(generatedKeys.getObject("id", Integer.class));
+                        }
+                    }
+                    StatementDeadlines.execute(updateStatement, updateStatement::executeBatch);
+                    connection.commit();
+                    return entities;
+                } catch (SQLException | RuntimeException e) {
+                    updateStatement.clearBatch();
+                    connection.rollback();
+                    throw e;
+                }
+            }
+        }
+    }
+
     public List<Subscription> findByUserId(Integer userId) {
+        if (UnitOfWork.isActive()) {
+            return retryPolicy.execute(() -> loadList(GET_BY_USER_ID_SQL, userId, 1));
+        }
+        return findByUserIdFlight.execute(userId,
+                () -> retryPolicy.execute(() -> loadList(GET_BY_USER_ID_SQL, userId, 1)));
+    }
+
+    public List<Subscription> findByUserId(Integer userId, boolean includeArchived) {
+        return includeArchived
+                ? retryPolicy.execute(() -> loadList(GET_BY_USER_ID_INCLUDING_ARCHIVED_SQL, userId, 2))
+                : findByUserId(userId);
+    }
+
+    public int archive(Instant expiredBefore, Instant archivedAt, int limit) {
+        return retryPolicy.execute(() -> moveToArchive(expiredBefore, archivedAt, limit));
+    }
+
+    private int moveToArchive(Instant expiredBefore, Instant archivedAt, int limit) throws SQLException {
+        try (var connection = ConnectionManager.get()) {
+            connection.setAutoCommit(false);
+            try (var lockStatement = connection.prepareStatement(LOCK_ARCHIVABLE_IDS_SQL);
+                 var copyStatement = connection.prepareStatement(COPY_TO_ARCHIVE_SQL);
+                 var deleteStatement = connection.prepareStatement(DELETE_BY_IDS_SQL);
+                 var tombstoneStatement = connection.prepareStatement(INSERT_TOMBSTONE_SQL)) {
+                lockStatement.setObject(1, Timestamp.from(expiredBefore));
+                lockStatement.setInt(2, limit);
+                var resultSet = StatementDeadlines.execute(lockStatement, lockStatement::executeQuery);
+                List<Integer> ids = new ArrayList<>();
+                while (resultSet.next()) {
+                    ids.add(resultSet.getObject("id", Integer.class));
+                }
+                if (!ids.isEmpty()) {
+                    var idArray = connection.createArrayOf("INTEGER", ids.toArray());
+                    copyStatement.setObject(1, Timestamp.from(archivedAt));
+                    copyStatement.setArray(2, idArray);
+                    StatementDeadlines.execute(copyStatement, copyStatement::executeUpdate);
+                    deleteStatement.setArray(1, idArray);
+                    StatementDeadlines.execute(deleteStatement, deleteStatement::executeUpdate);
+                    insertTombstones(tombstoneStatement, ids);
+                }
+                connection.commit();
+                return ids.size();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    public int deleteTombstonesBefore(Instant modifiedBefore) {
+        return retryPolicy.execute(() -> deleteTombstones(modifiedBefore));
+    }
+
+    private int deleteTombstones(Instant modifiedBefore) throws SQLException {
         try (var connection = ConnectionManager.get();
-             var preparedStatement = connection.prepareStatement(GET_BY_USER_ID_SQL)) {
-            preparedStatement.setObject(1, userId);
+             var preparedStatement = connection.prepareStatement(DELETE_TOMBSTONES_BEFORE_SQL)) {
+            preparedStatement.setObject(1, Timestamp.from(modifiedBefore));
 
-            var resultSet = preparedStatement.executeQuery();
+            return StatementDeadlines.execute(preparedStatement, preparedStatement::executeUpdate);
+        }
+    }
+
+    private List<Subscription> loadList(String sql, Object parameter, int parameterCount) throws SQLException {
+        try (var connection = ConnectionManager.get();
+             var preparedStatement = connection.prepareStatement(sql)) {
+            for (int i = 1; i <= parameterCount; i++) {
+                preparedStatement.setObject(i, parameter);
+            }
+
+            var resultSet = StatementDeadlines.execute(preparedStatement, preparedStatement::executeQuery);
             List<Subscription> subscriptions = new ArrayList<>();
             while (resultSet.next()) {
                 subscriptions.add(buildEntity(resultSet));
@@ -135,6 +440,71 @@ public class SubscriptionDao implements Dao<Integer, Subscription> {
         }
     }
 
+    public Flow.Publisher<Subscription> publishAll() {
+        return publish(GET_ALL_SQL, preparedStatement -> {
+        });
+    }
+
+    public Flow.Publisher<Subscription> publishByUserId(Integer userId) {
+        return publish(GET_BY_USER_ID_SQL, preparedStatement -> preparedStatement.setObject(1, userId));
+    }
+
+    public Flow.Publisher<Subscription> publishByStatus(Status status) {
+        return publish(GET_BY_STATUS_SQL, preparedStatement -> preparedStatement.setObject(1, status.name()));
+    }
+
+    public ChangeBatch findChangedSince(long cursor, int limit) {
+        return findChangedSince(cursor, limit, ConfigManager.getInstance().current().getChangeFeedSettleLag());
+    }
+
+    public ChangeBatch findChangedSince(long cursor, int limit, Duration settleLag) {
+        return retryPolicy.execute(() -> loadChangedSince(cursor, limit, settleLag));
+    }
+
+    private ChangeBatch loadChangedSince(long cursor, int limit, Duration settleLag) throws SQLException {
+        try (var connection = ConnectionManager.get();
+             var preparedStatement = connection.prepareStatement(GET_CHANGED_SINCE_SQL)) {
+            preparedStatement.setLong(1, cursor);
+            preparedStatement.setLong(2, cursor);
+            preparedStatement.setInt(3, limit);
+
+            var resultSet = StatementDeadlines.execute(preparedStatement, preparedStatement::executeQuery);
+            List<Subscription> subscriptions = new ArrayList<>();
+            List<Integer> deletedIds = new ArrayList<>();
+            var watermark = cursor;
+            var unsettled = false;
+            while (resultSet.next()) {
+                if (resultSet.getObject("status", String.class) == null) {
+                    deletedIds.add(resultSet.getObject("id", Integer.class));
+                } else {
+                    subscriptions.add(buildEntity(resultSet));
+                }
+                var modifiedAt = resultSet.getObject("modified_at", LocalDateTime.class);
+                var settledBefore = resultSet.getObject("read_at", LocalDateTime.class).minus(settleLag);
+                if (unsettled || modifiedAt.isAfter(settledBefore)) {
+                    unsettled = true;
+                } else {
+                    watermark = resultSet.getLong("mod_seq");
+                }
+            }
+
+            return new ChangeBatch(subscriptions, deletedIds, watermark, unsettled);
+        }
+    }
+
+    private Flow.Publisher<Subscription> publish(String sql, CursorPublisher.StatementBinder binder) {
+        return new CursorPublisher<>(sql, binder, this::buildEntity, PUBLISHER_FETCH_SIZE, publisherExecutor);
+    }
+
+    private Integer findId(PreparedStatement preparedStatement, Subscription entity) throws SQLException {
+        preparedStatement.setObject(1, entity.getUserId());
+        preparedStatement.setObject(2, entity.getName());
+        var resultSet = StatementDeadlines.execute(preparedStatement, preparedStatement::executeQuery);
+        return resultSet.next()
+                ? resultSet.getObject("id", Integer.class)
+                : null;
+    }
+
     private Subscription buildEntity(ResultSet resultSet) throws SQLException {
         return Subscription.builder()
                 .id(resultSet.getObject("id", Integer.class))
@@ -146,6 +516,16 @@ public class SubscriptionDao implements Dao<Integer, Subscription> {
                 .build();
     }
 
+    private Subscription copy(Subscription subscription) {
+        return subscription.toBuilder().build();
+    }
+
+    private List<Subscription> copyAll(List<Subscription> subscriptions) {
+        return subscriptions.stream()
+                .map(this::copy)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
     private void prepareStatementToUpsert(PreparedStatement preparedStatement, Subscription entity) throws SQLException {
         preparedStatement.setObject(1, entity.getUserId());
         preparedStatement.setObject(2, entity.getName());
@@ -153,4 +533,10 @@ public class SubscriptionDao implements Dao<Integer, Subscription> {
         preparedStatement.setObject(4, Timestamp.from(entity.getExpirationDate()));
         preparedStatement.setObject(5, entity.getStatus().name());
     }
+
+    @FunctionalInterface
+    private interface ParameterBinder {
+
+        void bind(Connection connection, PreparedStatement preparedStatement) throws SQLException;
+    }
 }
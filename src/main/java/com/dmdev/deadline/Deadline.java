@@ -0,0 +1,77 @@
+package com.dmdev.deadline;
+
+import com.dmdev.exception.DeadlineExceededException;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static <T> T call(Deadline deadline, Supplier<T> action) {
+        var previous = CURRENT.get();
+        CURRENT.set(previous == null ? deadline : previous.earliest(deadline));
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void run(Deadline deadline, Runnable action) {
+        call(deadline, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static void check(String operation) {
+        var deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.checkNotExpired(operation);
+        }
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public int remainingSeconds() {
+        return (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos() + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    public void checkNotExpired(String operation) {
+        if (isExpired()) {
+            throw new DeadlineExceededException(String.format(
+                    "%s exceeded its deadline by %d ms", operation, TimeUnit.NANOSECONDS.toMillis(-remainingNanos())));
+        }
+    }
+
+    private Deadline earliest(Deadline other) {
+        return expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+    }
+}
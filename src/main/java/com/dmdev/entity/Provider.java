@@ -1,18 +1,29 @@
 package com.dmdev.entity;
 
-import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 public enum Provider {
     GOOGLE, APPLE;
 
+    private static final Map<String, Provider> BY_NAME = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        for (var provider : values()) {
+            BY_NAME.put(provider.name(), provider);
+        }
+    }
+
     public static Provider findByName(String name) {
         return findByNameOpt(name).orElseThrow();
     }
 
     public static Optional<Provider> findByNameOpt(String name) {
-        return Arrays.stream(values())
-                .filter(provider -> provider.name().equalsIgnoreCase(name))
-                .findFirst();
+        return Optional.ofNullable(findByNameOrNull(name));
+    }
+
+    public static Provider findByNameOrNull(String name) {
+        return name == null ? null : BY_NAME.get(name);
     }
 }
@@ -0,0 +1,8 @@
+package com.dmdev.exception;
+
+public class AdmissionRejectedException extends RuntimeException {
+
+    public AdmissionRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.dmdev.exception;
+
+public class ConnectionPoolExhaustedException extends RuntimeException {
+
+    public ConnectionPoolExhaustedException(String message) {
+        super(message);
+    }
+}
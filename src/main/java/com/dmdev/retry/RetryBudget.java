@@ -0,0 +1,35 @@
+package com.dmdev.retry;
+
+public class RetryBudget {
+
+    private static final long TOKEN = 1_000;
+
+    private final long depositPerCall;
+    private final long maxBalance;
+    private long balance;
+
+    public RetryBudget(double retryRatio, int maxRetries) {
+        if (retryRatio < 0 || maxRetries < 0) {
+            throw new IllegalArgumentException("Retry budget must not be negative");
+        }
+        this.depositPerCall = Math.round(retryRatio * TOKEN);
+        this.maxBalance = maxRetries * TOKEN;
+        this.balance = maxBalance;
+    }
+
+    public synchronized void deposit() {
+        balance = Math.min(maxBalance, balance + depositPerCall);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (balance < TOKEN) {
+            return false;
+        }
+        balance -= TOKEN;
+        return true;
+    }
+
+    public synchronized double getAvailableRetries() {
+        return (double) balance / TOKEN;
+    }
+}
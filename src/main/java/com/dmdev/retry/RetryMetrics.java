@@ -0,0 +1,74 @@
+package com.dmdev.retry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class RetryMetrics {
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder attemptsExhausted = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+    private final LongAdder permanentFailures = new LongAdder();
+
+    void recordCall() {
+        calls.increment();
+    }
+
+    void recordRetry() {
+        retries.increment();
+    }
+
+    void recordRecovered() {
+        recovered.increment();
+    }
+
+    void recordAttemptsExhausted() {
+        attemptsExhausted.increment();
+    }
+
+    void recordBudgetExhausted() {
+        budgetExhausted.increment();
+    }
+
+    void recordPermanentFailure() {
+        permanentFailures.increment();
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getRecovered() {
+        return recovered.sum();
+    }
+
+    public long getAttemptsExhausted() {
+        return attemptsExhausted.sum();
+    }
+
+    public long getBudgetExhausted() {
+        return budgetExhausted.sum();
+    }
+
+    public long getGiveUps() {
+        return getAttemptsExhausted() + getBudgetExhausted();
+    }
+
+    public long getPermanentFailures() {
+        return permanentFailures.sum();
+    }
+
+    public void reset() {
+        calls.reset();
+        retries.reset();
+        recovered.reset();
+        attemptsExhausted.reset();
+        budgetExhausted.reset();
+        permanentFailures.reset();
+    }
+}
@@ -0,0 +1,139 @@
+package com.dmdev.retry;
+
+import com.dmdev.config.AppConfig;
+import com.dmdev.config.ConfigListener;
+import com.dmdev.deadline.Deadline;
+import com.dmdev.transaction.UnitOfWork;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.SneakyThrows;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+public class RetryPolicy implements ConfigListener {
+
+    private final RetryBudget budget;
+    private final Predicate<Throwable> retryable;
+    @Getter
+    private final RetryMetrics metrics = new RetryMetrics();
+    private volatile Settings settings;
+
+    @Builder
+    private RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+                        RetryBudget budget, Predicate<Throwable> retryable) {
+        this.settings = new Settings(maxAttempts, initialBackoff, maxBackoff);
+        this.budget = budget;
+        this.retryable = retryable == null ? SqlStateClassifier::isTransient : retryable;
+    }
+
+    public static RetryPolicy fromConfig(AppConfig config) {
+        return RetryPolicy.builder()
+                .maxAttempts(config.getRetryMaxAttempts())
+                .initialBackoff(config.getRetryInitialBackoff())
+                .maxBackoff(config.getRetryMaxBackoff())
+                .budget(new RetryBudget(config.getRetryBudgetRatio(), config.getRetryBudgetMaxRetries()))
+                .build();
+    }
+
+    @Override
+    public void onConfigChange(AppConfig config) {
+        settings = new Settings(config.getRetryMaxAttempts(), config.getRetryInitialBackoff(), config.getRetryMaxBackoff());
+    }
+
+    public static RetryPolicy none() {
+        return RetryPolicy.builder()
+                .maxAttempts(1)
+                .initialBackoff(Duration.ZERO)
+                .maxBackoff(Duration.ZERO)
+                .build();
+    }
+
+    public <T> T execute(SqlCall<T> call) {
+        return execute(call, retryable);
+    }
+
+    public <T> T executeNonIdempotent(SqlCall<T> call) {
+        return execute(call, retryable.and(SqlStateClassifier::isSafeToReplay));
+    }
+
+    @SneakyThrows
+    private <T> T execute(SqlCall<T> call, Predicate<Throwable> retryCondition) {
+        var current = settings;
+        metrics.recordCall();
+        if (UnitOfWork.isActive()) {
+            return call.call();
+        }
+        if (budget != null) {
+            budget.deposit();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                var result = call.call();
+                if (attempt > 1) {
+                    metrics.recordRecovered();
+                }
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                if (!retryCondition.test(e)) {
+                    metrics.recordPermanentFailure();
+                    throw e;
+                }
+                if (attempt >= current.maxAttempts()) {
+                    metrics.recordAttemptsExhausted();
+                    throw e;
+                }
+                var backoffNanos = current.backoff(attempt);
+                if (!fitsDeadline(backoffNanos)) {
+                    metrics.recordAttemptsExhausted();
+                    throw e;
+                }
+                if (budget != null && !budget.tryWithdraw()) {
+                    metrics.recordBudgetExhausted();
+                    throw e;
+                }
+                metrics.recordRetry();
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoffNanos);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    e.addSuppressed(interrupted);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static boolean fitsDeadline(long backoffNanos) {
+        return Deadline.current()
+                .map(deadline -> deadline.remainingNanos() > backoffNanos)
+                .orElse(true);
+    }
+
+    private record Settings(int maxAttempts, long initialBackoffNanos, long maxBackoffNanos) {
+
+        private Settings(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+            this(maxAttempts, initialBackoff.toNanos(), maxBackoff.toNanos());
+        }
+
+        private Settings {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be positive");
+            }
+        }
+
+        private long backoff(int attempt) {
+            var ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+            return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+        }
+    }
+
+    @FunctionalInterface
+    public interface SqlCall<T> {
+
+        T call() throws SQLException;
+    }
+}
@@ -0,0 +1,75 @@
+package com.dmdev.retry;
+
+import lombok.experimental.UtilityClass;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.util.Set;
+
+@UtilityClass
+public class SqlStateClassifier {
+
+    private static final String CONNECTION_EXCEPTION_CLASS = "08";
+    private static final Set<String> TRANSIENT_SQL_STATES = Set.of(
+            "40001",
+            "40P01",
+            "55P03",
+            "57P01",
+            "57P02",
+            "57P03",
+            "53300",
+            "HYT00"
+    );
+    private static final Set<String> CONNECTION_LOST_SQL_STATES = Set.of(
+            "57P01",
+            "57P02"
+    );
+
+    public static boolean isTransient(Throwable throwable) {
+        for (var current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof SQLException sqlException && isTransient(sqlException)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean isSafeToReplay(Throwable throwable) {
+        for (var current = throwable; current != null; current = current.getCause()) {
+            if (current instanceof SQLException sqlException && isConnectionLost(sqlException)) {
+                return false;
+            }
+        }
+        return isTransient(throwable);
+    }
+
+    private static boolean isConnectionLost(SQLException exception) {
+        for (var current = exception; current != null; current = current.getNextException()) {
+            if (current instanceof SQLTransientConnectionException || current instanceof SQLRecoverableException) {
+                return true;
+            }
+            var sqlState = current.getSQLState();
+            if (sqlState != null
+                && (sqlState.startsWith(CONNECTION_EXCEPTION_CLASS) || CONNECTION_LOST_SQL_STATES.contains(sqlState))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTransient(SQLException exception) {
+        for (var current = exception; current != null; current = current.getNextException()) {
+            if (current instanceof SQLTransientException || current instanceof SQLRecoverableException) {
+                return true;
+            }
+            var sqlState = current.getSQLState();
+            if (sqlState != null
+                && (sqlState.startsWith(CONNECTION_EXCEPTION_CLASS) || TRANSIENT_SQL_STATES.contains(sqlState))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
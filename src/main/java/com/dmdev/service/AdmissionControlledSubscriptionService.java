@@ -0,0 +1,48 @@
+package com.dmdev.service;
+
+import com.dmdev.admission.AdmissionController;
+import com.dmdev.admission.OperationType;
+import com.dmdev.dao.BulkOperationReport;
+import com.dmdev.deadline.Deadline;
+import com.dmdev.dto.CreateSubscriptionDto;
+import com.dmdev.entity.Subscription;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+public class AdmissionControlledSubscriptionService {
+
+    private final SubscriptionService subscriptionService;
+    private final AdmissionController admissionController;
+
+    public Subscription upsert(CreateSubscriptionDto dto) {
+        return admissionController.call(OperationType.UPSERT, () -> subscriptionService.upsert(dto));
+    }
+
+    public void cancel(Integer subscriptionId) {
+        admissionController.run(OperationType.CANCEL, () -> subscriptionService.cancel(subscriptionId));
+    }
+
+    public void expire(Integer subscriptionId) {
+        admissionController.run(OperationType.EXPIRE, () -> subscriptionService.expire(subscriptionId));
+    }
+
+    public BulkOperationReport cancelAllForUser(Integer userId) {
+        return admissionController.call(OperationType.CANCEL, () -> subscriptionService.cancelAllForUser(userId));
+    }
+
+    public Subscription upsert(CreateSubscriptionDto dto, Deadline deadline) {
+        return Deadline.call(deadline, () -> upsert(dto));
+    }
+
+    public void cancel(Integer subscriptionId, Deadline deadline) {
+        Deadline.run(deadline, () -> cancel(subscriptionId));
+    }
+
+    public void expire(Integer subscriptionId, Deadline deadline) {
+        Deadline.run(deadline, () -> expire(subscriptionId));
+    }
+
+    public BulkOperationReport cancelAllForUser(Integer userId, Deadline deadline) {
+        return Deadline.call(deadline, () -> cancelAllForUser(userId));
+    }
+}
@@ -0,0 +1,5 @@
+package com.dmdev.service;
+
+public enum DurabilityMode {
+    ACKNOWLEDGE_ON_ENQUEUE, WAIT_FOR_COMMIT
+}
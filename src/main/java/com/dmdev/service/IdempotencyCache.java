@@ -0,0 +1,94 @@
+package com.dmdev.service;
+
+import com.dmdev.entity.Subscription;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+public class IdempotencyCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public IdempotencyCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public Subscription computeIfAbsent(String idempotencyKey, Supplier<Subscription> loader) {
+        Entry entry;
+        var owner = false;
+        synchronized (this) {
+            entry = entries.get(idempotencyKey);
+            if (entry == null || entry.isExpired(System.nanoTime())) {
+                entry = new Entry();
+                entries.put(idempotencyKey, entry);
+                evictCompleted();
+                owner = true;
+            }
+        }
+        if (owner) {
+            load(idempotencyKey, entry, loader);
+        }
+        return copy(join(entry.future));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictCompleted() {
+        var iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            if (iterator.next().loaded) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void load(String idempotencyKey, Entry entry, Supplier<Subscription> loader) {
+        try {
+            var subscription = loader.get();
+            synchronized (this) {
+                entry.loaded = true;
+                entry.expiresAt = System.nanoTime() + ttlNanos;
+            }
+            entry.future.complete(copy(subscription));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                entries.remove(idempotencyKey, entry);
+            }
+            entry.future.completeExceptionally(e);
+        }
+    }
+
+    private Subscription join(CompletableFuture<Subscription> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Subscription copy(Subscription subscription) {
+        return subscription.toBuilder().build();
+    }
+
+    private static class Entry {
+        private final CompletableFuture<Subscription> future = new CompletableFuture<>();
+        private boolean loaded;
+        private long expiresAt;
+
+        private boolean isExpired(long now) {
+            return loaded && now - expiresAt > 0;
+        }
+    }
+}
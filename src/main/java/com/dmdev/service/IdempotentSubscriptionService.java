@@ -0,0 +1,81 @@
+package com.dmdev.service;
+
+import com.dmdev.dao.IdempotencyKeyDao;
+import com.dmdev.dto.CreateSubscriptionDto;
+import com.dmdev.entity.Subscription;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class IdempotentSubscriptionService {
+
+    private final SubscriptionService subscriptionService;
+    private final IdempotencyCache idempotencyCache;
+    private final IdempotencyKeyDao idempotencyKeyDao;
+    private final AtomicLong failedPurges = new AtomicLong();
+    private volatile Exception lastPurgeError;
+
+    public IdempotentSubscriptionService(SubscriptionService subscriptionService,
+                                         IdempotencyCache idempotencyCache) {
+        this(subscriptionService, idempotencyCache, null);
+    }
+
+    public IdempotentSubscriptionService(SubscriptionService subscriptionService,
+                                         IdempotencyCache idempotencyCache,
+                                         IdempotencyKeyDao idempotencyKeyDao) {
+        this.subscriptionService = subscriptionService;
+        this.idempotencyCache = idempotencyCache;
+        this.idempotencyKeyDao = idempotencyKeyDao;
+    }
+
+    public Subscription upsert(String idempotencyKey, CreateSubscriptionDto dto) {
+        if (StringUtils.isBlank(idempotencyKey)) {
+            throw new IllegalArgumentException("idempotencyKey must not be blank");
+        }
+        return idempotencyCache.computeIfAbsent(idempotencyKey, () -> findStored(idempotencyKey)
+                .orElseGet(() -> upsertAndStore(idempotencyKey, dto)));
+    }
+
+    public void schedulePurge(ScheduledExecutorService scheduler, Duration retention, Duration interval) {
+        if (idempotencyKeyDao == null) {
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(() -> purgeQuietly(retention),
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public long getFailedPurges() {
+        return failedPurges.get();
+    }
+
+    public Optional<Exception> getLastPurgeError() {
+        return Optional.ofNullable(lastPurgeError);
+    }
+
+    private void purgeQuietly(Duration retention) {
+        try {
+            idempotencyKeyDao.deleteExpired(retention);
+        } catch (Exception e) {
+            failedPurges.incrementAndGet();
+            lastPurgeError = e;
+        }
+    }
+
+    private Optional<Subscription> findStored(String idempotencyKey) {
+        return idempotencyKeyDao == null
+                ? Optional.empty()
+                : idempotencyKeyDao.findByKey(idempotencyKey);
+    }
+
+    private Subscription upsertAndStore(String idempotencyKey, CreateSubscriptionDto dto) {
+        var subscription = subscriptionService.upsert(dto);
+        if (idempotencyKeyDao != null && !idempotencyKeyDao.saveIfAbsent(idempotencyKey, subscription)) {
+            return idempotencyKeyDao.findByKey(idempotencyKey).orElse(subscription);
+        }
+        return subscription;
+    }
+}
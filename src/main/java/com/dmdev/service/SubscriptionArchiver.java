@@ -0,0 +1,80 @@
+package com.dmdev.service;
+
+import com.dmdev.config.AppConfig;
+import com.dmdev.config.ConfigListener;
+import com.dmdev.config.ConfigManager;
+import com.dmdev.dao.SubscriptionDao;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SubscriptionArchiver implements ConfigListener {
+
+    private final SubscriptionDao subscriptionDao;
+    private final Clock clock;
+    private final AtomicLong failedRuns = new AtomicLong();
+    private volatile Duration retention;
+    private volatile int chunkSize;
+    private volatile Exception lastError;
+
+    public SubscriptionArchiver(SubscriptionDao subscriptionDao, Clock clock, Duration retention, int chunkSize) {
+        this.subscriptionDao = subscriptionDao;
+        this.clock = clock;
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+    }
+
+    public static SubscriptionArchiver withDefaults() {
+        var config = ConfigManager.getInstance().current();
+        var archiver = new SubscriptionArchiver(SubscriptionDao.getInstance(), Clock.systemUTC(),
+                config.getArchiveRetention(), config.getArchiveChunkSize());
+        ConfigManager.getInstance().addListener(archiver);
+        return archiver;
+    }
+
+    public synchronized int archive() {
+        var archivedAt = clock.instant();
+        var expiredBefore = archivedAt.minus(retention);
+        var limit = chunkSize;
+        var archived = 0;
+        int moved;
+        do {
+            moved = subscriptionDao.archive(expiredBefore, archivedAt, limit);
+            archived += moved;
+        } while (moved == limit && !Thread.currentThread().isInterrupted());
+        subscriptionDao.deleteTombstonesBefore(expiredBefore);
+        return archived;
+    }
+
+    public void scheduleArchival(ScheduledExecutorService scheduler, Duration interval) {
+        scheduler.scheduleWithFixedDelay(this::archiveQuietly,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public long getFailedRuns() {
+        return failedRuns.get();
+    }
+
+    public Optional<Exception> getLastError() {
+        return Optional.ofNullable(lastError);
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (Exception e) {
+            failedRuns.incrementAndGet();
+            lastError = e;
+        }
+    }
+
+    @Override
+    public void onConfigChange(AppConfig config) {
+        retention = config.getArchiveRetention();
+        chunkSize = config.getArchiveChunkSize();
+    }
+}
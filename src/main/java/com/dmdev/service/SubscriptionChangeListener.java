@@ -0,0 +1,12 @@
+package com.dmdev.service;
+
+import com.dmdev.entity.Subscription;
+
+@FunctionalInterface
+public interface SubscriptionChangeListener {
+
+    void onChange(Subscription subscription);
+
+    default void onDelete(Integer subscriptionId) {
+    }
+}
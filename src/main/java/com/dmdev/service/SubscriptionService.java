@@ -1,6 +1,9 @@
 package com.dmdev.service;
 
+import com.dmdev.cache.SubscriptionCache;
+import com.dmdev.dao.BulkOperationReport;
 import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.deadline.Deadline;
 import com.dmdev.dto.CreateSubscriptionDto;
 import com.dmdev.entity.Provider;
 import com.dmdev.entity.Status;
@@ -8,11 +11,17 @@ import com.dmdev.entity.Subscription;
 import com.dmdev.exception.SubscriptionException;
 import com.dmdev.exception.ValidationException;
 import com.dmdev.mapper.CreateSubscriptionMapper;
+import com.dmdev.transaction.TransactionDefinition;
+import com.dmdev.transaction.TransactionTemplate;
 import com.dmdev.validator.CreateSubscriptionValidator;
 import lombok.RequiredArgsConstructor;
 
 import java.time.Clock;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @RequiredArgsConstructor
 public class SubscriptionService {
@@ -21,6 +30,54 @@ public class SubscriptionService {
     private final CreateSubscriptionMapper createSubscriptionMapper;
     private final CreateSubscriptionValidator createSubscriptionValidator;
     private final Clock clock;
+    private final TransactionTemplate transactionTemplate;
+    private final List<SubscriptionChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile SubscriptionCache subscriptionCache;
+
+    public void addListener(SubscriptionChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void useCache(SubscriptionCache subscriptionCache) {
+        this.subscriptionCache = subscriptionCache;
+        addListener(subscriptionCache);
+    }
+
+    public Optional<Subscription> findById(Integer subscriptionId) {
+        var cache = subscriptionCache;
+        return cache != null
+                ? cache.findById(subscriptionId)
+                : subscriptionDao.findById(subscriptionId);
+    }
+
+    public List<Subscription> findByUserId(Integer userId) {
+        return transactionTemplate.execute(TransactionDefinition.readOnly(),
+                () -> subscriptionDao.findByUserId(userId));
+    }
+
+    public Subscription upsert(CreateSubscriptionDto dto, Deadline deadline) {
+        return Deadline.call(deadline, () -> upsert(dto));
+    }
+
+    public void cancel(Integer subscriptionId, Deadline deadline) {
+        Deadline.run(deadline, () -> cancel(subscriptionId));
+    }
+
+    public void expire(Integer subscriptionId, Deadline deadline) {
+        Deadline.run(deadline, () -> expire(subscriptionId));
+    }
+
+    public BulkOperationReport cancelAllForUser(Integer userId, Deadline deadline) {
+        return Deadline.call(deadline, () -> cancelAllForUser(userId));
+    }
+
+    public BulkOperationReport deleteAll(Collection<Integer> subscriptionIds, Deadline deadline) {
+        return Deadline.call(deadline, () -> deleteAll(subscriptionIds));
+    }
+
+    public BulkOperationReport deleteAllForUser(Integer userId, Deadline deadline) {
+        return Deadline.call(deadline, () -> deleteAllForUser(userId));
+    }
 
     public Subscription upsert(CreateSubscriptionDto dto) {
         var validationResult = createSubscriptionValidator.validate(dto);
@@ -28,36 +85,82 @@ public class SubscriptionService {
             throw new ValidationException(validationResult.getErrors());
         }
 
-        Subscription subscription = subscriptionDao.findByUserId(dto.getUserId()).stream()
-                .filter(existingSubscription -> existingSubscription.getName().equals(dto.getName()))
-                .filter(existingSubscription -> existingSubscription.getProvider() == Provider.findByName(dto.getProvider()))
-                .findFirst()
-                .map(existingSubscription -> existingSubscription
-                        .setExpirationDate(dto.getExpirationDate())
-                        .setStatus(Status.ACTIVE))
-                .orElseGet(() -> createSubscriptionMapper.map(dto));
+        var savedSubscription = transactionTemplate.execute(() -> {
+            Subscription subscription = subscriptionDao.findByUserId(dto.getUserId()).stream()
+                    .filter(existingSubscription -> existingSubscription.getName().equals(dto.getName()))
+                    .filter(existingSubscription -> existingSubscription.getProvider() == Provider.findByName(dto.getProvider()))
+                    .findFirst()
+                    .map(existingSubscription -> existingSubscription
+                            .setExpirationDate(dto.getExpirationDate())
+                            .setStatus(Status.ACTIVE))
+                    .orElseGet(() -> createSubscriptionMapper.map(dto));
 
-        return subscriptionDao.upsert(subscription);
+            return subscriptionDao.upsert(subscription);
+        });
+        notifyListeners(savedSubscription);
+        return savedSubscription;
     }
 
     public void cancel(Integer subscriptionId) {
-        var subscription = subscriptionDao.findById(subscriptionId)
-                .orElseThrow(IllegalArgumentException::new);
-        if (subscription.getStatus() != Status.ACTIVE) {
-            throw new SubscriptionException(String.format("Only active subscription %d can be canceled", subscriptionId));
-        }
-        subscription.setStatus(Status.CANCELED);
-        subscriptionDao.update(subscription);
+        var subscription = transactionTemplate.execute(() -> {
+            var existingSubscription = subscriptionDao.findById(subscriptionId)
+                    .orElseThrow(IllegalArgumentException::new);
+            if (existingSubscription.getStatus() != Status.ACTIVE) {
+                throw new SubscriptionException(String.format("Only active subscription %d can be canceled", subscriptionId));
+            }
+            existingSubscription.setStatus(Status.CANCELED);
+            subscriptionDao.update(existingSubscription);
+            return existingSubscription;
+        });
+        notifyListeners(subscription);
     }
 
     public void expire(Integer subscriptionId) {
-        var subscription = subscriptionDao.findById(subscriptionId)
-                .orElseThrow(IllegalArgumentException::new);
-        if (subscription.getStatus() == Status.EXPIRED) {
-            throw new SubscriptionException(String.format("Subscription %d has already expired", subscriptionId));
+        var subscription = transactionTemplate.execute(() -> {
+            var existingSubscription = subscriptionDao.findById(subscriptionId)
+                    .orElseThrow(IllegalArgumentException::new);
+            if (existingSubscription.getStatus() == Status.EXPIRED) {
+                throw new SubscriptionException(String.format("Subscription %d has already expired", subscriptionId));
+            }
+            existingSubscription.setStatus(Status.EXPIRED);
+            existingSubscription.setExpirationDate(Instant.now(clock));
+            subscriptionDao.update(existingSubscription);
+            return existingSubscription;
+        });
+        notifyListeners(subscription);
+    }
+
+    public BulkOperationReport cancelAllForUser(Integer userId) {
+        var canceledSubscriptions = subscriptionDao.cancelAllByUserId(userId);
+        canceledSubscriptions.forEach(this::notifyListeners);
+        return BulkOperationReport.of(List.of(), canceledSubscriptions.stream()
+                .map(Subscription::getId)
+                .toList(), BulkOperationReport.Outcome.CANCELED);
+    }
+
+    public BulkOperationReport deleteAll(Collection<Integer> subscriptionIds) {
+        var report = subscriptionDao.deleteAll(subscriptionIds);
+        notifyDeleted(report);
+        return report;
+    }
+
+    public BulkOperationReport deleteAllForUser(Integer userId) {
+        var report = subscriptionDao.deleteByUserId(userId);
+        notifyDeleted(report);
+        return report;
+    }
+
+    private void notifyDeleted(BulkOperationReport report) {
+        for (var subscriptionId : report.getIds(BulkOperationReport.Outcome.DELETED)) {
+            for (var listener : listeners) {
+                listener.onDelete(subscriptionId);
+            }
+        }
+    }
+
+    private void notifyListeners(Subscription subscription) {
+        for (var listener : listeners) {
+            listener.onChange(subscription);
         }
-        subscription.setStatus(Status.EXPIRED);
-        subscription.setExpirationDate(Instant.now(clock));
-        subscriptionDao.update(subscription);
     }
 }
@@ -0,0 +1,217 @@
+package com.dmdev.service;
+
+import com.dmdev.config.AppConfig;
+import com.dmdev.config.ConfigListener;
+import com.dmdev.config.ConfigManager;
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.entity.Subscription;
+import com.dmdev.exception.AdmissionRejectedException;
+import lombok.Builder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class SubscriptionWriteQueue implements AutoCloseable, ConfigListener {
+
+    private final SubscriptionDao subscriptionDao;
+    private final int capacity;
+    private final long offerTimeoutNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushRequested = lock.newCondition();
+    private final Map<MergeKey, PendingWrite> pending = new LinkedHashMap<>();
+    private final Thread flusher;
+    private final ConfigManager configManager;
+    private int batchSize;
+    private long flushIntervalNanos;
+    private long oldestPendingAt;
+    private boolean closed;
+
+    @Builder
+    private SubscriptionWriteQueue(SubscriptionDao subscriptionDao, int capacity, int batchSize,
+                                   Duration flushInterval, Duration offerTimeout, ConfigManager configManager) {
+        this.subscriptionDao = subscriptionDao;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.configManager = configManager;
+        this.flusher = new Thread(this::flushLoop, "subscription-write-behind");
+        this.flusher.setDaemon(true);
+        if (configManager != null) {
+            configManager.addListener(this);
+        }
+        this.flusher.start();
+    }
+
+    public static SubscriptionWriteQueue withDefaults() {
+        return fromConfig(SubscriptionDao.getInstance(), ConfigManager.getInstance());
+    }
+
+    public static SubscriptionWriteQueue fromConfig(SubscriptionDao subscriptionDao, ConfigManager configManager) {
+        var config = configManager.current();
+        return SubscriptionWriteQueue.builder()
+                .subscriptionDao(subscriptionDao)
+                .capacity(config.getWriteCapacity())
+                .batchSize(config.getWriteBatchSize())
+                .flushInterval(config.getWriteFlushInterval())
+                .offerTimeout(config.getWriteOfferTimeout())
+                .configManager(configManager)
+                .build();
+    }
+
+    public CompletableFuture<Subscription> submit(Subscription subscription) {
+        var future = new CompletableFuture<Subscription>();
+        var key = new MergeKey(subscription.getUserId(), subscription.getName());
+        lock.lock();
+        try {
+            awaitCapacity(key);
+            var write = pending.get(key);
+            if (write == null) {
+                write = new PendingWrite();
+                if (pending.isEmpty()) {
+                    oldestPendingAt = System.nanoTime();
+                    flushRequested.signal();
+                }
+                pending.put(key, write);
+            }
+            write.subscription = subscription;
+            write.futures.add(future);
+            if (pending.size() >= batchSize) {
+                flushRequested.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return future;
+    }
+
+    @Override
+    public void onConfigChange(AppConfig config) {
+        lock.lock();
+        try {
+            batchSize = config.getWriteBatchSize();
+            flushIntervalNanos = config.getWriteFlushInterval().toNanos();
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (configManager != null) {
+            configManager.removeListener(this);
+        }
+        lock.lock();
+        try {
+            closed = true;
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+        flusher.join();
+    }
+
+    private void awaitCapacity(MergeKey key) {
+        if (closed) {
+            throw new IllegalStateException("Write queue is closed");
+        }
+        var remainingNanos = offerTimeoutNanos;
+        try {
+            while (pending.size() >= capacity && !pending.containsKey(key)) {
+                if (remainingNanos <= 0) {
+                    throw new AdmissionRejectedException(String.format(
+                            "Write queue is full: %d pending upserts", pending.size()));
+                }
+                remainingNanos = notFull.awaitNanos(remainingNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdmissionRejectedException("Interrupted while waiting for write queue capacity");
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            var batch = nextBatch();
+            if (batch == null) {
+                return;
+            }
+            write(batch);
+        }
+    }
+
+    private List<PendingWrite> nextBatch() {
+        lock.lock();
+        try {
+            while (!closed && !isFlushDue()) {
+                if (pending.isEmpty()) {
+                    flushRequested.await();
+                } else {
+                    flushRequested.awaitNanos(oldestPendingAt + flushIntervalNanos - System.nanoTime());
+                }
+            }
+            if (pending.isEmpty()) {
+                return null;
+            }
+            List<PendingWrite> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            var iterator = pending.values().iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+            oldestPendingAt = System.nanoTime();
+            notFull.signalAll();
+            return batch;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFlushDue() {
+        return pending.size() >= batchSize
+               || !pending.isEmpty() && System.nanoTime() - oldestPendingAt >= flushIntervalNanos;
+    }
+
+    private void write(List<PendingWrite> batch) {
+        try {
+            var saved = subscriptionDao.upsertAll(batch.stream()
+                    .map(write -> write.subscription)
+                    .toList());
+            for (int i = 0; i < batch.size(); i++) {
+                for (var future : batch.get(i).futures) {
+                    future.complete(saved.get(i).toBuilder().build());
+                }
+            }
+        } catch (Throwable e) {
+            batch.forEach(write -> write.futures.forEach(future -> future.completeExceptionally(e)));
+        }
+    }
+
+    private record MergeKey(Integer userId, String name) {
+    }
+
+    private static class PendingWrite {
+        private Subscription subscription;
+        private final List<CompletableFuture<Subscription>> futures = new ArrayList<>();
+    }
+}
@@ -0,0 +1,58 @@
+package com.dmdev.service;
+
+import com.dmdev.dto.CreateSubscriptionDto;
+import com.dmdev.entity.Subscription;
+import com.dmdev.exception.ValidationException;
+import com.dmdev.mapper.CreateSubscriptionMapper;
+import com.dmdev.validator.CreateSubscriptionValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@RequiredArgsConstructor
+public class WriteBehindSubscriptionService {
+
+    private final SubscriptionWriteQueue writeQueue;
+    private final CreateSubscriptionMapper createSubscriptionMapper;
+    private final CreateSubscriptionValidator createSubscriptionValidator;
+    private final DurabilityMode durabilityMode;
+    private final List<SubscriptionChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(SubscriptionChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public CompletableFuture<Subscription> upsert(CreateSubscriptionDto dto) {
+        var validationResult = createSubscriptionValidator.validate(dto);
+        if (validationResult.hasErrors()) {
+            throw new ValidationException(validationResult.getErrors());
+        }
+
+        var future = writeQueue.submit(createSubscriptionMapper.map(dto))
+                .thenApply(this::notifyListeners);
+        if (durabilityMode == DurabilityMode.WAIT_FOR_COMMIT) {
+            awaitCommit(future);
+        }
+        return future;
+    }
+
+    private Subscription notifyListeners(Subscription subscription) {
+        for (var listener : listeners) {
+            listener.onChange(subscription);
+        }
+        return subscription;
+    }
+
+    @SneakyThrows
+    private void awaitCommit(CompletableFuture<Subscription> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.dmdev.startup;
+
+import com.dmdev.cache.SubscriptionCache;
+import com.dmdev.config.ConfigManager;
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.dto.CreateSubscriptionDto;
+import com.dmdev.entity.Provider;
+import com.dmdev.mapper.CreateSubscriptionMapper;
+import com.dmdev.service.SubscriptionService;
+import com.dmdev.transaction.TransactionTemplate;
+import com.dmdev.util.ConnectionManager;
+import com.dmdev.util.PropertiesUtil;
+import com.dmdev.validator.CreateSubscriptionValidator;
+import lombok.RequiredArgsConstructor;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+
+@RequiredArgsConstructor
+public class ApplicationStartup {
+
+    private static final int MISSING_ID = -1;
+
+    private final SubscriptionDao subscriptionDao;
+    private final CreateSubscriptionValidator createSubscriptionValidator;
+    private final CreateSubscriptionMapper createSubscriptionMapper;
+    private final SubscriptionCache subscriptionCache;
+    private final SubscriptionService subscriptionService;
+    private final int warmUpIterations;
+
+    public static ApplicationStartup withDefaults() {
+        PropertiesUtil.init();
+        var subscriptionDao = SubscriptionDao.getInstance();
+        var subscriptionCache = SubscriptionCache.withDefaults();
+        var subscriptionService = new SubscriptionService(
+                subscriptionDao,
+                CreateSubscriptionMapper.getInstance(),
+                CreateSubscriptionValidator.getInstance(),
+                Clock.systemUTC(),
+                TransactionTemplate.getInstance());
+        subscriptionService.useCache(subscriptionCache);
+        return new ApplicationStartup(
+                subscriptionDao,
+                CreateSubscriptionValidator.getInstance(),
+                CreateSubscriptionMapper.getInstance(),
+                subscriptionCache,
+                subscriptionService,
+                ConfigManager.getInstance().current().getWarmUpIterations());
+    }
+
+    public static void main(String[] args) {
+        try {
+            System.out.println(withDefaults().start());
+        } finally {
+            ConnectionManager.closePool();
+            ConfigManager.getInstance().close();
+        }
+    }
+
+    public StartupReport start() {
+        var startedAt = System.nanoTime();
+        PropertiesUtil.init();
+        ConfigManager.getInstance().startWatching();
+        var configuredAt = System.nanoTime();
+
+        ConnectionManager.init();
+        var poolReadyAt = System.nanoTime();
+
+        var failures = warmUp();
+        var warmedUpAt = System.nanoTime();
+
+        var firstRequestSucceeded = firstRequest();
+        var firstRequestAt = System.nanoTime();
+
+        return StartupReport.builder()
+                .configuration(Duration.ofNanos(configuredAt - startedAt))
+                .connectionPool(Duration.ofNanos(poolReadyAt - configuredAt))
+                .warmUp(Duration.ofNanos(warmedUpAt - poolReadyAt))
+                .firstRequest(Duration.ofNanos(firstRequestAt - warmedUpAt))
+                .timeToFirstRequest(Duration.between(jvmStartTime(), Instant.now()))
+                .firstRequestSucceeded(firstRequestSucceeded)
+                .warmUpFailures(failures)
+                .build();
+    }
+
+    private List<String> warmUp() {
+        var failures = new ConcurrentLinkedQueue<String>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(() -> warmUp("dao", this::warmUpDao, failures), executor),
+                    CompletableFuture.runAsync(() -> warmUp("service", this::warmUpService, failures), executor),
+                    CompletableFuture.runAsync(() -> warmUp("service reads", this::warmUpServiceReads, failures), executor),
+                    CompletableFuture.runAsync(() -> warmUp("cache", subscriptionCache::warmStart, failures), executor)
+            ).join();
+        }
+        return List.copyOf(failures);
+    }
+
+    private void warmUp(String name, Runnable action, ConcurrentLinkedQueue<String> failures) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            failures.add(name + ": " + e);
+        }
+    }
+
+    private void warmUpDao() {
+        for (int i = 0; i < warmUpIterations; i++) {
+            subscriptionDao.findById(MISSING_ID);
+            subscriptionDao.findByUserId(MISSING_ID);
+            subscriptionDao.findChangedSince(Long.MAX_VALUE, 1);
+        }
+    }
+
+    private void warmUpService() {
+        var dto = CreateSubscriptionDto.builder()
+                .userId(MISSING_ID)
+                .name("warm-up")
+                .provider(Provider.GOOGLE.name())
+                .expirationDate(Instant.now().plus(Duration.ofDays(1)))
+                .build();
+        for (int i = 0; i < warmUpIterations; i++) {
+            createSubscriptionValidator.validate(dto);
+            createSubscriptionMapper.map(dto);
+        }
+    }
+
+    private void warmUpServiceReads() {
+        for (int i = 0; i < warmUpIterations; i++) {
+            subscriptionService.findById(MISSING_ID);
+            subscriptionService.findByUserId(MISSING_ID);
+        }
+    }
+
+    private boolean firstRequest() {
+        try {
+            subscriptionDao.findByUserId(MISSING_ID);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static Instant jvmStartTime() {
+        return Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+    }
+}
@@ -0,0 +1,37 @@
+package com.dmdev.startup;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+
+@Value
+@Builder
+public class StartupReport {
+
+    Duration configuration;
+    Duration connectionPool;
+    Duration warmUp;
+    Duration firstRequest;
+    Duration timeToFirstRequest;
+    boolean firstRequestSucceeded;
+    List<String> warmUpFailures;
+
+    @Override
+    public String toString() {
+        return String.format("""
+                        configuration       %6d ms
+                        connection pool     %6d ms
+                        warm-up             %6d ms%s
+                        first request       %6d ms (%s)
+                        time to first request since JVM start: %d ms""",
+                configuration.toMillis(),
+                connectionPool.toMillis(),
+                warmUp.toMillis(),
+                warmUpFailures.isEmpty() ? "" : " failures: " + warmUpFailures,
+                firstRequest.toMillis(),
+                firstRequestSucceeded ? "ok" : "failed",
+                timeToFirstRequest.toMillis());
+    }
+}
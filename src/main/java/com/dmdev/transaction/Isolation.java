@@ -0,0 +1,17 @@
+package com.dmdev.transaction;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.sql.Connection;
+
+@Getter
+@RequiredArgsConstructor
+public enum Isolation {
+    DEFAULT(-1),
+    READ_COMMITTED(Connection.TRANSACTION_READ_COMMITTED),
+    REPEATABLE_READ(Connection.TRANSACTION_REPEATABLE_READ),
+    SERIALIZABLE(Connection.TRANSACTION_SERIALIZABLE);
+
+    private final int level;
+}
@@ -0,0 +1,31 @@
+package com.dmdev.transaction;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class TransactionDefinition {
+
+    private static final TransactionDefinition READ_WRITE = TransactionDefinition.builder().build();
+    private static final TransactionDefinition READ_ONLY = TransactionDefinition.builder().readOnly(true).build();
+
+    boolean readOnly;
+    @Builder.Default
+    Isolation isolation = Isolation.DEFAULT;
+
+    public static TransactionDefinition readWrite() {
+        return READ_WRITE;
+    }
+
+    public static TransactionDefinition readOnly() {
+        return READ_ONLY;
+    }
+
+    boolean canJoin(TransactionDefinition outer) {
+        if (outer.isReadOnly() && !readOnly) {
+            return false;
+        }
+        return isolation == Isolation.DEFAULT || outer.getIsolation().getLevel() >= isolation.getLevel();
+    }
+}
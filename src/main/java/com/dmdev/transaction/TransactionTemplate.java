@@ -0,0 +1,74 @@
+package com.dmdev.transaction;
+
+import com.dmdev.config.ConfigManager;
+import com.dmdev.retry.RetryPolicy;
+import lombok.RequiredArgsConstructor;
+
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+public class TransactionTemplate {
+
+    private static final TransactionTemplate INSTANCE = create();
+
+    private final RetryPolicy retryPolicy;
+
+    public static TransactionTemplate getInstance() {
+        return INSTANCE;
+    }
+
+    private static TransactionTemplate create() {
+        var retryPolicy = RetryPolicy.fromConfig(ConfigManager.getInstance().current());
+        ConfigManager.getInstance().addListener(retryPolicy);
+        return new TransactionTemplate(retryPolicy);
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        return execute(TransactionDefinition.readWrite(), action);
+    }
+
+    public <T> T execute(TransactionDefinition definition, Supplier<T> action) {
+        var current = UnitOfWork.current();
+        if (current.isPresent()) {
+            var outer = current.get().getDefinition();
+            if (!definition.canJoin(outer)) {
+                throw new IllegalStateException(String.format(
+                        "Cannot join a unit of work with %s, the outer one uses %s", definition, outer));
+            }
+            return action.get();
+        }
+        return definition.isReadOnly()
+                ? retryPolicy.execute(() -> executeOnce(definition, action))
+                : retryPolicy.executeNonIdempotent(() -> executeOnce(definition, action));
+    }
+
+    public void run(Runnable action) {
+        run(TransactionDefinition.readWrite(), action);
+    }
+
+    public void run(TransactionDefinition definition, Runnable action) {
+        execute(definition, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T executeOnce(TransactionDefinition definition, Supplier<T> action) throws SQLException {
+        var unitOfWork = UnitOfWork.begin(definition);
+        try {
+            var result = action.get();
+            unitOfWork.commit();
+            return result;
+        } catch (Throwable e) {
+            try {
+                unitOfWork.rollback();
+            } catch (Exception rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        } finally {
+            unitOfWork.end();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.dmdev.transaction;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public final class UnitOfWork implements InvocationHandler {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private final TransactionDefinition definition;
+    private Connection connection;
+    private Connection boundConnection;
+    private boolean previousReadOnly;
+    private int previousIsolation;
+    private boolean rollbackOnly;
+
+    private UnitOfWork(TransactionDefinition definition) {
+        this.definition = definition;
+    }
+
+    public static Optional<UnitOfWork> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    static UnitOfWork begin(TransactionDefinition definition) {
+        if (CURRENT.get() != null) {
+            throw new IllegalStateException("A unit of work is already bound to this thread");
+        }
+        var unitOfWork = new UnitOfWork(definition);
+        CURRENT.set(unitOfWork);
+        return unitOfWork;
+    }
+
+    TransactionDefinition getDefinition() {
+        return definition;
+    }
+
+    public Connection getConnection(Supplier<Connection> connectionSource) throws SQLException {
+        if (boundConnection == null) {
+            var acquired = connectionSource.get();
+            try {
+                configure(acquired);
+            } catch (SQLException | RuntimeException e) {
+                acquired.close();
+                throw e;
+            }
+            connection = acquired;
+            boundConnection = (Connection) Proxy.newProxyInstance(UnitOfWork.class.getClassLoader(),
+                    new Class[]{Connection.class}, this);
+        }
+        return boundConnection;
+    }
+
+    void commit() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+        if (rollbackOnly) {
+            connection.rollback();
+            throw new IllegalStateException("Transaction was rolled back because a participant marked it rollback-only");
+        }
+        connection.commit();
+    }
+
+    void rollback() throws SQLException {
+        if (connection != null) {
+            connection.rollback();
+        }
+    }
+
+    void end() throws SQLException {
+        CURRENT.remove();
+        if (connection == null) {
+            return;
+        }
+        try {
+            restore(connection);
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "close", "setAutoCommit", "commit" -> {
+                return null;
+            }
+            case "rollback" -> {
+                if (args == null) {
+                    rollbackOnly = true;
+                    return null;
+                }
+            }
+            default -> {
+            }
+        }
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void configure(Connection acquired) throws SQLException {
+        previousReadOnly = acquired.isReadOnly();
+        previousIsolation = acquired.getTransactionIsolation();
+        if (definition.isReadOnly() != previousReadOnly) {
+            acquired.setReadOnly(definition.isReadOnly());
+        }
+        var isolation = definition.getIsolation();
+        if (isolation != Isolation.DEFAULT && isolation.getLevel() != previousIsolation) {
+            acquired.setTransactionIsolation(isolation.getLevel());
+        }
+        acquired.setAutoCommit(false);
+    }
+
+    private void restore(Connection acquired) throws SQLException {
+        acquired.setAutoCommit(true);
+        if (acquired.isReadOnly() != previousReadOnly) {
+            acquired.setReadOnly(previousReadOnly);
+        }
+        if (acquired.getTransactionIsolation() != previousIsolation) {
+            acquired.setTransactionIsolation(previousIsolation);
+        }
+    }
+}
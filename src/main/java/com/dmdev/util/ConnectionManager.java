@@ -1,10 +1,28 @@
 package com.dmdev.util;
 
+import com.dmdev.config.AppConfig;
+import com.dmdev.config.ConfigListener;
+import com.dmdev.config.ConfigManager;
+import com.dmdev.deadline.Deadline;
+import com.dmdev.exception.ConnectionPoolExhaustedException;
+import com.dmdev.exception.DeadlineExceededException;
+import com.dmdev.transaction.UnitOfWork;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @UtilityClass
 public class ConnectionManager {
@@ -13,9 +31,35 @@ public class ConnectionManager {
     private static final String USER_KEY = "db.user";
     private static final String PASSWORD_KEY = "db.password";
     private static final String DRIVER_KEY = "db.driver";
+    private static final String PREPARE_THRESHOLD_KEY = "db.prepare-threshold";
+    private static final String POSTGRESQL_URL_PREFIX = "jdbc:postgresql:";
 
-    static {
-        loadDriver();
+    private static final StatementCacheStats statementCacheStats = new StatementCacheStats();
+    private static final ConfigListener configListener = ConnectionManager::applyConfig;
+    private static volatile Pool pool;
+
+    public static void init() {
+        pool();
+    }
+
+    public static boolean isInitialized() {
+        return pool != null;
+    }
+
+    private static Pool pool() {
+        var current = pool;
+        if (current == null) {
+            synchronized (ConnectionManager.class) {
+                current = pool;
+                if (current == null) {
+                    loadDriver();
+                    current = initConnectionPool(ConfigManager.getInstance().current());
+                    pool = current;
+                    ConfigManager.getInstance().addListener(configListener);
+                }
+            }
+        }
+        return current;
     }
 
     @SneakyThrows
@@ -23,11 +67,170 @@ public class ConnectionManager {
         Class.forName(PropertiesUtil.get(DRIVER_KEY));
     }
 
+    private static Pool initConnectionPool(AppConfig config) {
+        var newPool = new Pool(new LinkedBlockingQueue<>(), new CopyOnWriteArrayList<>());
+        newPool.acquireTimeoutNanos = config.getAcquireTimeout().toNanos();
+        newPool.statementCacheSize = config.getStatementCacheSize();
+        addConnections(newPool, config.getPoolSize());
+        return newPool;
+    }
+
+    private static void addConnections(Pool target, int count) {
+        for (var physicalConnection : openAll(count)) {
+            var connection = new PooledConnection(physicalConnection, ConnectionManager::open, target.connections,
+                    target.statementCacheSize, statementCacheStats);
+            target.sourceConnections.add(connection);
+            target.connections.add(connection);
+        }
+    }
+
+    private static List<Connection> openAll(int count) {
+        return openAll(count, ConnectionManager::open);
+    }
+
+    static List<Connection> openAll(int count, Supplier<Connection> opener) {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<Connection>> futures = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                futures.add(CompletableFuture.supplyAsync(opener, executor));
+            }
+            try {
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            } catch (CompletionException e) {
+                futures.stream()
+                        .filter(future -> !future.isCompletedExceptionally())
+                        .map(CompletableFuture::join)
+                        .forEach(ConnectionManager::closeQuietly);
+                throw e;
+            }
+            return futures.stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+        }
+    }
+
     @SneakyThrows
     public static Connection get() {
-        return DriverManager.getConnection(
-                PropertiesUtil.get(URL_KEY),
-                PropertiesUtil.get(USER_KEY),
-                PropertiesUtil.get(PASSWORD_KEY));
+        var unitOfWork = UnitOfWork.current();
+        return unitOfWork.isPresent()
+                ? unitOfWork.get().getConnection(ConnectionManager::acquire)
+                : acquire();
+    }
+
+    @SneakyThrows
+    private static Connection acquire() {
+        var current = pool();
+        var deadline = Deadline.current().orElse(null);
+        var acquireTimeoutNanos = current.acquireTimeoutNanos;
+        var timeoutNanos = acquireTimeoutNanos;
+        if (deadline != null) {
+            deadline.checkNotExpired("Connection acquisition");
+            timeoutNanos = Math.min(timeoutNanos, deadline.remainingNanos());
+        }
+        var connection = current.connections.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+        if (connection != null) {
+            return connection.checkOut();
+        }
+        if (deadline != null && deadline.isExpired()) {
+            throw new DeadlineExceededException("No connection available before the deadline");
+        }
+        throw new ConnectionPoolExhaustedException(String.format(
+                "No connection available within %d ms", TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos)));
+    }
+
+    public static synchronized void resize(int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        var current = pool();
+        var sourceConnections = current.sourceConnections;
+        var difference = poolSize - sourceConnections.size();
+        if (difference > 0) {
+            addConnections(current, difference);
+            return;
+        }
+        for (int i = 0; i < -difference; i++) {
+            var connection = sourceConnections.remove(sourceConnections.size() - 1);
+            if (connection.retire()) {
+                closeQuietly(connection);
+            }
+        }
+    }
+
+    public static int getPoolSize() {
+        var current = pool;
+        return current == null ? 0 : current.sourceConnections.size();
+    }
+
+    public static StatementCacheStats getStatementCacheStats() {
+        return statementCacheStats;
+    }
+
+    @SneakyThrows
+    public static synchronized void closePool() {
+        var current = pool;
+        if (current == null) {
+            return;
+        }
+        pool = null;
+        ConfigManager.getInstance().removeListener(configListener);
+        for (var connection : current.sourceConnections) {
+            connection.closePhysically();
+        }
+    }
+
+    private static synchronized void applyConfig(AppConfig config) {
+        var current = pool;
+        if (current == null) {
+            return;
+        }
+        current.acquireTimeoutNanos = config.getAcquireTimeout().toNanos();
+        current.statementCacheSize = config.getStatementCacheSize();
+        for (var connection : current.sourceConnections) {
+            connection.setStatementCacheSize(config.getStatementCacheSize());
+        }
+        resize(config.getPoolSize());
+    }
+
+    private static void closeQuietly(PooledConnection connection) {
+        try {
+            connection.closePhysically();
+        } catch (Exception ignored) {
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (Exception ignored) {
+        }
+    }
+
+    @SneakyThrows
+    private static Connection open() {
+        var url = PropertiesUtil.get(URL_KEY);
+        var properties = new Properties();
+        properties.setProperty("user", PropertiesUtil.get(USER_KEY));
+        properties.setProperty("password", PropertiesUtil.get(PASSWORD_KEY));
+        if (url.startsWith(POSTGRESQL_URL_PREFIX)) {
+            var prepareThreshold = PropertiesUtil.get(PREPARE_THRESHOLD_KEY);
+            if (prepareThreshold != null) {
+                properties.setProperty("prepareThreshold", prepareThreshold);
+            }
+        }
+        return DriverManager.getConnection(url, properties);
+    }
+
+    private static final class Pool {
+
+        private final BlockingQueue<PooledConnection> connections;
+        private final List<PooledConnection> sourceConnections;
+        private volatile long acquireTimeoutNanos;
+        private volatile int statementCacheSize;
+
+        private Pool(BlockingQueue<PooledConnection> connections, List<PooledConnection> sourceConnections) {
+            this.connections = connections;
+            this.sourceConnections = sourceConnections;
+        }
     }
 }
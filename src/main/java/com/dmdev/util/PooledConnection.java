@@ -0,0 +1,271 @@
+package com.dmdev.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+class PooledConnection implements InvocationHandler {
+
+    private final Supplier<Connection> connectionFactory;
+    private final BlockingQueue<PooledConnection> pool;
+    private final StatementCacheStats stats;
+    private final Map<StatementKey, PreparedStatement> statements;
+    private final Set<PreparedStatement> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<PreparedStatement> evictedInUse = Collections.newSetFromMap(new IdentityHashMap<>());
+    private volatile int statementCacheSize;
+    private final AtomicBoolean checkedOut = new AtomicBoolean();
+    private volatile boolean retired;
+    private Connection connection;
+    private Connection proxy;
+
+    PooledConnection(Connection connection, BlockingQueue<PooledConnection> pool,
+                     int statementCacheSize, StatementCacheStats stats) {
+        this(connection, null, pool, statementCacheSize, stats);
+    }
+
+    PooledConnection(Connection connection, Supplier<Connection> connectionFactory, BlockingQueue<PooledConnection> pool,
+                     int statementCacheSize, StatementCacheStats stats) {
+        this.connection = connection;
+        this.connectionFactory = connectionFactory;
+        this.pool = pool;
+        this.stats = stats;
+        this.statementCacheSize = statementCacheSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatementKey, PreparedStatement> eldest) {
+                if (size() <= PooledConnection.this.statementCacheSize) {
+                    return false;
+                }
+                if (inUse.contains(eldest.getValue())) {
+                    evictedInUse.add(eldest.getValue());
+                } else {
+                    closeQuietly(eldest.getValue());
+                }
+                stats.recordEviction();
+                return true;
+            }
+        };
+    }
+
+    Connection checkOut() {
+        checkedOut.set(true);
+        return proxy();
+    }
+
+    Connection proxy() {
+        if (proxy == null) {
+            proxy = (Connection) Proxy.newProxyInstance(ConnectionManager.class.getClassLoader(),
+                    new Class[]{Connection.class}, this);
+        }
+        return proxy;
+    }
+
+    Connection unwrap() {
+        return connection;
+    }
+
+    void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    synchronized boolean retire() {
+        retired = true;
+        return pool.remove(this);
+    }
+
+    void closePhysically() throws SQLException {
+        checkInAll();
+        statements.values().forEach(PooledConnection::closeQuietly);
+        statements.clear();
+        connection.close();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "close" -> {
+                if (checkedOut.compareAndSet(true, false)) {
+                    release();
+                }
+                return null;
+            }
+            case "isClosed" -> {
+                if (!checkedOut.get()) {
+                    return true;
+                }
+            }
+            default -> {
+            }
+        }
+        if (!checkedOut.get()) {
+            throw new SQLException("Connection is closed");
+        }
+        if (method.getName().equals("prepareStatement")) {
+            if (args.length == 1) {
+                return prepare(new StatementKey((String) args[0], Statement.NO_GENERATED_KEYS));
+            }
+            if (args.length == 2 && args[1] instanceof Integer autoGeneratedKeys) {
+                return prepare(new StatementKey((String) args[0], autoGeneratedKeys));
+            }
+        }
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void release() throws SQLException {
+        if (retired) {
+            closePhysically();
+            return;
+        }
+        checkInAll();
+        try {
+            if (connection.isClosed()) {
+                reconnect();
+            } else if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } finally {
+            returnToPool();
+        }
+    }
+
+    private synchronized void returnToPool() throws SQLException {
+        if (retired) {
+            closePhysically();
+        } else {
+            pool.add(this);
+        }
+    }
+
+    private void reconnect() {
+        if (connectionFactory == null) {
+            return;
+        }
+        try {
+            var reopened = connectionFactory.get();
+            statements.values().forEach(PooledConnection::closeQuietly);
+            statements.clear();
+            connection = reopened;
+        } catch (Exception e) {
+            stats.recordReconnectFailure();
+        }
+    }
+
+    private synchronized PreparedStatement prepare(StatementKey key) throws SQLException {
+        var statement = statements.get(key);
+        if (statement != null && inUse.contains(statement)) {
+            stats.recordMiss();
+            return connection.prepareStatement(key.sql(), key.autoGeneratedKeys());
+        }
+        if (statement != null && !statement.isClosed()) {
+            stats.recordHit();
+        } else {
+            stats.recordMiss();
+            statement = connection.prepareStatement(key.sql(), key.autoGeneratedKeys());
+            statements.put(key, statement);
+        }
+        inUse.add(statement);
+        return new CachedStatement(statement).proxy();
+    }
+
+    private synchronized void checkInAll() {
+        inUse.clear();
+        evictedInUse.forEach(PooledConnection::closeQuietly);
+        evictedInUse.clear();
+    }
+
+    private synchronized void checkIn(PreparedStatement statement) {
+        inUse.remove(statement);
+        if (evictedInUse.remove(statement)) {
+            closeQuietly(statement);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private record StatementKey(String sql, int autoGeneratedKeys) {
+    }
+
+    private class CachedStatement implements InvocationHandler {
+
+        private final PreparedStatement statement;
+        private final List<ResultSet> resultSets = new ArrayList<>();
+        private boolean closed;
+
+        private CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        private PreparedStatement proxy() {
+            return (PreparedStatement) Proxy.newProxyInstance(ConnectionManager.class.getClassLoader(),
+                    new Class[]{PreparedStatement.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("close")) {
+                if (closed) {
+                    return null;
+                }
+                closed = true;
+                try {
+                    for (var resultSet : resultSets) {
+                        resultSet.close();
+                    }
+                    resultSets.clear();
+                    statement.clearParameters();
+                    statement.clearBatch();
+                } finally {
+                    checkIn(statement);
+                }
+                return null;
+            }
+            if (method.getName().equals("isClosed") && closed) {
+                return true;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            try {
+                var result = method.invoke(statement, args);
+                if (result instanceof ResultSet resultSet) {
+                    resultSets.add(resultSet);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
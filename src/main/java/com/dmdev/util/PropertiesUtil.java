@@ -8,20 +8,25 @@ import java.util.Properties;
 @UtilityClass
 public class PropertiesUtil {
 
-    private static final Properties properties = new Properties();
-
-    static {
-        loadProperties();
+    public static void init() {
+        Holder.properties.size();
     }
 
-    @SneakyThrows
-    private static void loadProperties() {
-        try (var inputStream = PropertiesUtil.class.getClassLoader().getResourceAsStream("application.properties")) {
-            properties.load(inputStream);
-        }
+    public static String get(String key) {
+        return System.getProperty(key, Holder.properties.getProperty(key));
     }
 
-    public static String get(String key) {
-        return properties.getProperty(key);
+    private static class Holder {
+
+        private static final Properties properties = loadProperties();
+
+        @SneakyThrows
+        private static Properties loadProperties() {
+            var properties = new Properties();
+            try (var inputStream = PropertiesUtil.class.getClassLoader().getResourceAsStream("application.properties")) {
+                properties.load(inputStream);
+            }
+            return properties;
+        }
     }
 }
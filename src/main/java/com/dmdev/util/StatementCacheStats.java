@@ -0,0 +1,56 @@
+package com.dmdev.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class StatementCacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder reconnectFailures = new LongAdder();
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    void recordReconnectFailure() {
+        reconnectFailures.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getReconnectFailures() {
+        return reconnectFailures.sum();
+    }
+
+    public double getHitRatio() {
+        var hitCount = getHits();
+        var total = hitCount + getMisses();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public void reset() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        reconnectFailures.reset();
+    }
+}
@@ -0,0 +1,70 @@
+package com.dmdev.validator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkValidationResult {
+
+    static final int NOT_VALIDATED = -1;
+
+    private final int[] errorMasks;
+    private final boolean complete;
+
+    BulkValidationResult(int[] errorMasks, boolean complete) {
+        this.errorMasks = errorMasks;
+        this.complete = complete;
+    }
+
+    public int size() {
+        return errorMasks.length;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public boolean hasErrors() {
+        for (var errorMask : errorMasks) {
+            if (errorMask > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isValidated(int index) {
+        return errorMasks[index] != NOT_VALIDATED;
+    }
+
+    public boolean isValid(int index) {
+        return errorMasks[index] == 0;
+    }
+
+    public int getErrorMask(int index) {
+        return Math.max(errorMasks[index], 0);
+    }
+
+    public List<Integer> getInvalidIndexes() {
+        List<Integer> invalidIndexes = new ArrayList<>();
+        for (int i = 0; i < errorMasks.length; i++) {
+            if (errorMasks[i] > 0) {
+                invalidIndexes.add(i);
+            }
+        }
+        return invalidIndexes;
+    }
+
+    public List<Integer> getNotValidatedIndexes() {
+        List<Integer> notValidatedIndexes = new ArrayList<>();
+        for (int i = 0; i < errorMasks.length; i++) {
+            if (errorMasks[i] == NOT_VALIDATED) {
+                notValidatedIndexes.add(i);
+            }
+        }
+        return notValidatedIndexes;
+    }
+
+    public List<Error> getErrors(int index) {
+        return CreateSubscriptionValidator.toErrors(getErrorMask(index));
+    }
+}
@@ -6,33 +6,126 @@ import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static lombok.AccessLevel.PRIVATE;
 
 @NoArgsConstructor(access = PRIVATE)
 public class CreateSubscriptionValidator implements Validator<CreateSubscriptionDto> {
 
+    public static final int INVALID_USER_ID = 1;
+    public static final int INVALID_NAME = 1 << 1;
+    public static final int INVALID_PROVIDER = 1 << 2;
+    public static final int INVALID_EXPIRATION_DATE = 1 << 3;
+
     private static final CreateSubscriptionValidator INSTANCE = new CreateSubscriptionValidator();
 
+    private static final Error[] ERRORS = {
+            Error.of(100, "userId is invalid"),
+            Error.of(101, "name is invalid"),
+            Error.of(102, "provider is invalid"),
+            Error.of(103, "expirationDate is invalid")
+    };
+    private static final int BULK_THRESHOLD = 1024;
+
     public static CreateSubscriptionValidator getInstance() {
         return INSTANCE;
     }
 
     @Override
     public ValidationResult validate(CreateSubscriptionDto object) {
+        var errorMask = validate(object, Instant.now());
+        if (errorMask == 0) {
+            return ValidationResult.valid();
+        }
         var validationResult = new ValidationResult();
+        toErrors(errorMask).forEach(validationResult::add);
+        return validationResult;
+    }
+
+    public BulkValidationResult validateAll(CreateSubscriptionDto[] objects, boolean failFast) {
+        var errorMasks = new int[objects.length];
+        Arrays.fill(errorMasks, BulkValidationResult.NOT_VALIDATED);
+        var failed = new AtomicBoolean();
+        var task = new BulkValidationTask(objects, errorMasks, 0, objects.length, Instant.now(), failFast, failed);
+        if (objects.length <= BULK_THRESHOLD) {
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+        return new BulkValidationResult(errorMasks, !failed.get());
+    }
+
+    static List<Error> toErrors(int errorMask) {
+        List<Error> errors = new ArrayList<>(Integer.bitCount(errorMask));
+        for (int bit = 0; bit < ERRORS.length; bit++) {
+            if ((errorMask & 1 << bit) != 0) {
+                errors.add(ERRORS[bit]);
+            }
+        }
+        return errors;
+    }
+
+    private static int validate(CreateSubscriptionDto object, Instant now) {
+        var errorMask = 0;
         if (object.getUserId() == null) {
-            validationResult.add(Error.of(100, "userId is invalid"));
+            errorMask |= INVALID_USER_ID;
         }
         if (StringUtils.isBlank(object.getName())) {
-            validationResult.add(Error.of(101, "name is invalid"));
+            errorMask |= INVALID_NAME;
         }
-        if (Provider.findByNameOpt(object.getProvider()).isEmpty()) {
-            validationResult.add(Error.of(102, "provider is invalid"));
+        if (Provider.findByNameOrNull(object.getProvider()) == null) {
+            errorMask |= INVALID_PROVIDER;
         }
-        if (object.getExpirationDate() == null || object.getExpirationDate().isBefore(Instant.now())) {
-            validationResult.add(Error.of(103, "expirationDate is invalid"));
+        if (object.getExpirationDate() == null || object.getExpirationDate().isBefore(now)) {
+            errorMask |= INVALID_EXPIRATION_DATE;
+        }
+        return errorMask;
+    }
+
+    private static class BulkValidationTask extends RecursiveAction {
+
+        private final CreateSubscriptionDto[] objects;
+        private final int[] errorMasks;
+        private final int from;
+        private final int to;
+        private final Instant now;
+        private final boolean failFast;
+        private final AtomicBoolean failed;
+
+        private BulkValidationTask(CreateSubscriptionDto[] objects, int[] errorMasks, int from, int to,
+                                   Instant now, boolean failFast, AtomicBoolean failed) {
+            this.objects = objects;
+            this.errorMasks = errorMasks;
+            this.from = from;
+            this.to = to;
+            this.now = now;
+            this.failFast = failFast;
+            this.failed = failed;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > BULK_THRESHOLD) {
+                var middle = (from + to) >>> 1;
+                invokeAll(new BulkValidationTask(objects, errorMasks, from, middle, now, failFast, failed),
+                        new BulkValidationTask(objects, errorMasks, middle, to, now, failFast, failed));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                if (failFast && failed.get()) {
+                    return;
+                }
+                errorMasks[i] = validate(objects[i], now);
+                if (failFast && errorMasks[i] != 0) {
+                    failed.set(true);
+                }
+            }
         }
-        return validationResult;
     }
 }
@@ -8,9 +8,16 @@ import java.util.List;
 public class ValidationResult {
 
     @Getter
-    private final List<Error> errors = new ArrayList<>();
+    private List<Error> errors = List.of();
+
+    public static ValidationResult valid() {
+        return new ValidationResult();
+    }
 
     public void add(Error error) {
+        if (errors.isEmpty()) {
+            errors = new ArrayList<>();
+        }
         this.errors.add(error);
     }
 
@@ -0,0 +1,56 @@
+CREATE SEQUENCE IF NOT EXISTS subscription_mod_seq;
+
+CREATE TABLE IF NOT EXISTS subscription
+(
+    id SERIAL PRIMARY KEY ,
+    user_id INT NOT NULL ,
+    name VARCHAR(64) NOT NULL ,
+    provider VARCHAR(16) NOT NULL ,
+    expiration_date TIMESTAMP NOT NULL ,
+    status VARCHAR(16) NOT NULL ,
+    UNIQUE (user_id, name)
+);
+
+ALTER TABLE subscription ADD COLUMN IF NOT EXISTS mod_seq BIGINT;
+ALTER TABLE subscription ADD COLUMN IF NOT EXISTS modified_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL;
+UPDATE subscription SET mod_seq = nextval('subscription_mod_seq') WHERE mod_seq IS NULL;
+ALTER TABLE subscription ALTER COLUMN mod_seq SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS subscription_mod_seq_idx ON subscription (mod_seq);
+CREATE INDEX IF NOT EXISTS subscription_status_expiration_date_idx ON subscription (status, expiration_date);
+
+CREATE TABLE IF NOT EXISTS subscription_archive
+(
+    id INT PRIMARY KEY ,
+    user_id INT NOT NULL ,
+    name VARCHAR(64) NOT NULL ,
+    provider VARCHAR(16) NOT NULL ,
+    expiration_date TIMESTAMP NOT NULL ,
+    status VARCHAR(16) NOT NULL ,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS subscription_archive_user_id_idx ON subscription_archive (user_id);
+
+CREATE TABLE IF NOT EXISTS subscription_tombstone
+(
+    mod_seq BIGINT PRIMARY KEY ,
+    id INT NOT NULL ,
+    modified_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS subscription_tombstone_modified_at_idx ON subscription_tombstone (modified_at);
+
+CREATE TABLE IF NOT EXISTS idempotency_key
+(
+    idempotency_key VARCHAR(128) PRIMARY KEY ,
+    subscription_id INT NOT NULL ,
+    user_id INT NOT NULL ,
+    name VARCHAR(64) NOT NULL ,
+    provider VARCHAR(16) NOT NULL ,
+    expiration_date TIMESTAMP NOT NULL ,
+    status VARCHAR(16) NOT NULL ,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idempotency_key_created_at_idx ON idempotency_key (created_at);
@@ -0,0 +1,161 @@
+package com.dmdev.admission;
+
+import com.dmdev.deadline.Deadline;
+import com.dmdev.exception.AdmissionRejectedException;
+import com.dmdev.exception.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BulkheadTest {
+
+    @Test
+    void shouldExecuteActionWhenUnderLimit() {
+        var bulkhead = getBulkhead(1, 0, Duration.ZERO);
+
+        var actualResult = bulkhead.call(() -> "done");
+
+        assertThat(actualResult).isEqualTo("done");
+        assertThat(bulkhead.getInFlight()).isZero();
+    }
+
+    @Test
+    void shouldRejectImmediatelyIfQueueIsFull() throws InterruptedException {
+        var bulkhead = getBulkhead(1, 0, Duration.ofSeconds(1));
+        var executor = Executors.newSingleThreadExecutor();
+        var release = occupy(bulkhead, executor);
+
+        assertThrows(AdmissionRejectedException.class, () -> bulkhead.call(() -> "rejected"));
+
+        release.countDown();
+        shutdown(executor);
+    }
+
+    @Test
+    void shouldRejectIfNoPermitWithinQueueWait() throws InterruptedException {
+        var bulkhead = getBulkhead(1, 1, Duration.ofMillis(20));
+        var executor = Executors.newSingleThreadExecutor();
+        var release = occupy(bulkhead, executor);
+
+        var exception = assertThrows(AdmissionRejectedException.class, () -> bulkhead.call(() -> "timed out"));
+
+        assertThat(exception).hasMessageContaining("no permit within 20 ms");
+        assertThat(bulkhead.getQueued()).isZero();
+        release.countDown();
+        shutdown(executor);
+    }
+
+    @Test
+    void shouldStopQueueWaitAtDeadline() throws InterruptedException {
+        var bulkhead = getBulkhead(1, 1, Duration.ofSeconds(10));
+        var executor = Executors.newSingleThreadExecutor();
+        var release = occupy(bulkhead, executor);
+
+        var startedAt = System.nanoTime();
+        assertThrows(DeadlineExceededException.class,
+                () -> Deadline.call(Deadline.after(Duration.ofMillis(20)), () -> bulkhead.call(() -> "late")));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(5));
+        assertThat(bulkhead.getQueued()).isZero();
+        release.countDown();
+        shutdown(executor);
+    }
+
+    @Test
+    void shouldDecreaseLimitIfActionTimesOut() {
+        var bulkhead = getBulkhead(10, 0, Duration.ZERO);
+
+        assertThrows(DeadlineExceededException.class, () -> bulkhead.call(() -> {
+            throw new DeadlineExceededException("Statement cancelled at its deadline");
+        }));
+
+        assertThat(bulkhead.getLimit().getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    void shouldKeepLimitIfActionFailsWithoutOverload() {
+        var bulkhead = getBulkhead(10, 0, Duration.ZERO);
+
+        assertThrows(IllegalArgumentException.class, () -> bulkhead.call(() -> {
+            throw new IllegalArgumentException("invalid subscription");
+        }));
+
+        assertThat(bulkhead.getLimit().getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldDecreaseLimitIfLatencyExceedsThreshold() {
+        var limit = AimdLimit.builder()
+                .initialLimit(10)
+                .minLimit(1)
+                .maxLimit(20)
+                .backoffRatio(0.5)
+                .latencyThreshold(Duration.ofMillis(1))
+                .build();
+
+        limit.onSample(Duration.ofMillis(5).toNanos(), 10, false);
+
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldIncreaseLimitIfUtilizedAndFast() {
+        var limit = AimdLimit.builder()
+                .initialLimit(1)
+                .minLimit(1)
+                .maxLimit(20)
+                .backoffRatio(0.5)
+                .latencyThreshold(Duration.ofSeconds(1))
+                .build();
+
+        limit.onSample(Duration.ofMillis(1).toNanos(), 1, false);
+
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    private CountDownLatch occupy(Bulkhead bulkhead, ExecutorService executor) throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        executor.submit(() -> bulkhead.run(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        return release;
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void shutdown(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private Bulkhead getBulkhead(int limit, int maxQueueSize, Duration maxQueueWait) {
+        return Bulkhead.builder()
+                .operation(OperationType.UPSERT)
+                .limit(AimdLimit.builder()
+                        .initialLimit(limit)
+                        .minLimit(1)
+                        .maxLimit(limit)
+                        .backoffRatio(0.9)
+                        .latencyThreshold(Duration.ofSeconds(1))
+                        .build())
+                .maxQueueSize(maxQueueSize)
+                .maxQueueWait(maxQueueWait)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.dmdev.benchmark;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAccumulator maxValue = new LongAccumulator(Math::max, 0);
+
+    public void recordValue(long value) {
+        var normalized = Math.max(0, value);
+        counts.incrementAndGet(indexOf(normalized));
+        totalCount.increment();
+        maxValue.accumulate(normalized);
+    }
+
+    public void recordCorrectedValue(long value, long expectedInterval) {
+        recordValue(value);
+        if (expectedInterval <= 0) {
+            return;
+        }
+        for (var missing = value - expectedInterval; missing >= expectedInterval; missing -= expectedInterval) {
+            recordValue(missing);
+        }
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            var count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.add(other.getTotalCount());
+        maxValue.accumulate(other.getMaxValue());
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    public long getValueAtPercentile(double percentile) {
+        var total = getTotalCount();
+        if (total == 0) {
+            return 0;
+        }
+        var target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= target) {
+                return Math.min(valueOf(i), getMaxValue());
+            }
+        }
+        return getMaxValue();
+    }
+
+    private static int indexOf(long value) {
+        var shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    private static long valueOf(int index) {
+        var shift = Math.max(0, index / SUB_BUCKET_COUNT - 1);
+        var lowerBound = (long) (index - shift * SUB_BUCKET_COUNT) << shift;
+        return lowerBound + ((1L << shift) - 1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.dmdev.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyHistogramTest {
+
+    @Test
+    void shouldReportPercentilesWithinBucketPrecision() {
+        var histogram = new LatencyHistogram();
+
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.recordValue(value * 1_000);
+        }
+
+        assertEquals(100_000, histogram.getTotalCount());
+        assertThat((double) histogram.getValueAtPercentile(50)).isCloseTo(50_000_000, within(500_000.0));
+        assertThat((double) histogram.getValueAtPercentile(99)).isCloseTo(99_000_000, within(1_000_000.0));
+        assertThat((double) histogram.getValueAtPercentile(99.9)).isCloseTo(99_900_000, within(1_000_000.0));
+        assertEquals(100_000_000, histogram.getMaxValue());
+    }
+
+    @Test
+    void shouldBackfillMissedSamplesWhenCorrectingCoordinatedOmission() {
+        var histogram = new LatencyHistogram();
+
+        for (int i = 0; i < 99; i++) {
+            histogram.recordCorrectedValue(1_000, 1_000);
+        }
+        histogram.recordCorrectedValue(100_000, 1_000);
+
+        assertEquals(199, histogram.getTotalCount());
+        assertThat(histogram.getValueAtPercentile(75)).isGreaterThan(40_000);
+    }
+
+    @Test
+    void shouldMergeHistograms() {
+        var first = new LatencyHistogram();
+        var second = new LatencyHistogram();
+        first.recordValue(10);
+        second.recordValue(20);
+
+        first.add(second);
+
+        assertEquals(2, first.getTotalCount());
+        assertEquals(20, first.getMaxValue());
+    }
+
+    @Test
+    void shouldFavourLowRanksInZipfDistribution() {
+        var distribution = new ZipfDistribution(1_000, 1.1);
+        var counts = new int[1_001];
+
+        for (int i = 0; i < 100_000; i++) {
+            counts[distribution.next()]++;
+        }
+
+        assertThat(counts[1]).isGreaterThan(counts[10]);
+        assertThat(counts[10]).isGreaterThan(counts[500]);
+        assertEquals(0, counts[0]);
+    }
+}
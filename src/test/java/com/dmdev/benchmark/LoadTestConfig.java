@@ -0,0 +1,85 @@
+package com.dmdev.benchmark;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Value
+@Builder
+public class LoadTestConfig {
+
+    public enum Mode {
+        OPEN, CLOSED
+    }
+
+    @Builder.Default
+    Mode mode = Mode.CLOSED;
+    @Builder.Default
+    int threads = 16;
+    @Builder.Default
+    boolean virtualThreads = false;
+    @Builder.Default
+    int rate = 2_000;
+    @Builder.Default
+    Duration expectedInterval = Duration.ZERO;
+    @Builder.Default
+    Duration warmup = Duration.ofSeconds(5);
+    @Builder.Default
+    Duration duration = Duration.ofSeconds(30);
+    @Builder.Default
+    int users = 10_000;
+    @Builder.Default
+    int namesPerUser = 3;
+    @Builder.Default
+    double zipfExponent = 1.1;
+    @Builder.Default
+    int upsertWeight = 20;
+    @Builder.Default
+    int cancelWeight = 5;
+    @Builder.Default
+    int expireWeight = 5;
+    @Builder.Default
+    int lookupWeight = 70;
+
+    public static LoadTestConfig parse(String... args) {
+        Map<String, String> options = new HashMap<>();
+        for (var arg : args) {
+            var separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but was " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        var builder = LoadTestConfig.builder();
+        options.forEach((key, value) -> {
+            switch (key) {
+                case "mode" -> builder.mode(Mode.valueOf(value.toUpperCase()));
+                case "threads" -> builder.threads(Integer.parseInt(value));
+                case "virtualThreads" -> builder.virtualThreads(Boolean.parseBoolean(value));
+                case "rate" -> builder.rate(Integer.parseInt(value));
+                case "expectedInterval" -> builder.expectedInterval(Duration.parse(value));
+                case "warmup" -> builder.warmup(Duration.parse(value));
+                case "duration" -> builder.duration(Duration.parse(value));
+                case "users" -> builder.users(Integer.parseInt(value));
+                case "namesPerUser" -> builder.namesPerUser(Integer.parseInt(value));
+                case "zipfExponent" -> builder.zipfExponent(Double.parseDouble(value));
+                case "upsert" -> builder.upsertWeight(Integer.parseInt(value));
+                case "cancel" -> builder.cancelWeight(Integer.parseInt(value));
+                case "expire" -> builder.expireWeight(Integer.parseInt(value));
+                case "lookup" -> builder.lookupWeight(Integer.parseInt(value));
+                default -> throw new IllegalArgumentException("Unknown option " + key);
+            }
+        });
+        var config = builder.build();
+        if (config.getRate() <= 0 || config.getRate() > TimeUnit.SECONDS.toNanos(1)) {
+            throw new IllegalArgumentException("Option rate must be between 1 and %d but was %d"
+                    .formatted(TimeUnit.SECONDS.toNanos(1), config.getRate()));
+        }
+        return config;
+    }
+}
@@ -0,0 +1,29 @@
+package com.dmdev.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadTestConfigTest {
+
+    @Test
+    void shouldParseOpenModeWithRate() {
+        var actualResult = LoadTestConfig.parse("mode=open", "rate=500");
+
+        assertAll(
+                () -> assertEquals(LoadTestConfig.Mode.OPEN, actualResult.getMode()),
+                () -> assertEquals(500, actualResult.getRate())
+        );
+    }
+
+    @Test
+    void shouldRejectNonPositiveRate() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> LoadTestConfig.parse("mode=open", "rate=0"));
+
+        assertTrue(exception.getMessage().contains("rate"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.dmdev.benchmark;
+
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import com.dmdev.integration.TestSchema;
+import com.dmdev.util.ConnectionManager;
+import com.dmdev.util.PropertiesUtil;
+
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+
+public class StatementCacheBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 100_000;
+    private static final String GET_BY_ID_SQL = """
+            SELECT id, user_id, name, provider, expiration_date, status
+            FROM subscription
+            WHERE id = ?
+            """;
+
+    public static void main(String[] args) throws SQLException {
+        var subscriptionDao = SubscriptionDao.getInstance();
+        prepareSchema();
+        var id = subscriptionDao.insert(Subscription.builder()
+                .userId(1)
+                .name("benchmark")
+                .provider(Provider.GOOGLE)
+                .expirationDate(Instant.now().plusSeconds(3600))
+                .status(Status.ACTIVE)
+                .build()).getId();
+
+        try (var connection = DriverManager.getConnection(
+                PropertiesUtil.get("db.url"), PropertiesUtil.get("db.user"), PropertiesUtil.get("db.password"));
+             var reused = connection.prepareStatement(GET_BY_ID_SQL)) {
+            measure("prepare per call", WARMUP_ITERATIONS, () -> findById(connection.prepareStatement(GET_BY_ID_SQL), id, true));
+            var reparsed = measure("prepare per call", ITERATIONS, () -> findById(connection.prepareStatement(GET_BY_ID_SQL), id, true));
+            measure("reused statement", WARMUP_ITERATIONS, () -> findById(reused, id, false));
+            var prepared = measure("reused statement", ITERATIONS, () -> findById(reused, id, false));
+            System.out.printf("parse/plan savings: %.2fx%n", (double) reparsed / prepared);
+        }
+
+        measure("dao with statement cache", WARMUP_ITERATIONS, () -> subscriptionDao.findById(id));
+        ConnectionManager.getStatementCacheStats().reset();
+        measure("dao with statement cache", ITERATIONS, () -> subscriptionDao.findById(id));
+
+        var stats = ConnectionManager.getStatementCacheStats();
+        System.out.printf("statement cache hits=%d misses=%d ratio=%.4f%n",
+                stats.getHits(), stats.getMisses(), stats.getHitRatio());
+        ConnectionManager.closePool();
+    }
+
+    private static long measure(String name, int iterations, SqlAction action) throws SQLException {
+        var startedAt = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            action.run();
+        }
+        var elapsed = System.nanoTime() - startedAt;
+        System.out.printf("%-30s %,10d ops %,12.0f ops/s %8.2f us/op%n",
+                name, iterations, iterations * 1e9 / elapsed, elapsed / 1e3 / iterations);
+        return elapsed;
+    }
+
+    @FunctionalInterface
+    private interface SqlAction {
+        void run() throws SQLException;
+    }
+
+    private static void findById(PreparedStatement preparedStatement, Integer id, boolean close) throws SQLException {
+        preparedStatement.setObject(1, id);
+        try (var resultSet = preparedStatement.executeQuery()) {
+            resultSet.next();
+        }
+        if (close) {
+            preparedStatement.close();
+        }
+    }
+
+    private static void prepareSchema() throws SQLException {
+        TestSchema.create();
+        try (var connection = ConnectionManager.get();
+             var statement = connection.createStatement()) {
+            statement.execute("DELETE FROM subscription");
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.dmdev.benchmark;
+
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.dto.CreateSubscriptionDto;
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import com.dmdev.exception.SubscriptionException;
+import com.dmdev.integration.TestSchema;
+import com.dmdev.mapper.CreateSubscriptionMapper;
+import com.dmdev.service.SubscriptionService;
+import com.dmdev.transaction.TransactionTemplate;
+import com.dmdev.util.ConnectionManager;
+import com.dmdev.util.PropertiesUtil;
+import com.dmdev.validator.CreateSubscriptionValidator;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class SubscriptionLoadTest {
+
+    private static final int SEED_BATCH_SIZE = 500;
+
+    private enum Operation {
+        UPSERT, CANCEL, EXPIRE, LOOKUP
+    }
+
+    private final LoadTestConfig config;
+    private final SubscriptionDao subscriptionDao = SubscriptionDao.getInstance();
+    private final SubscriptionService subscriptionService = new SubscriptionService(
+            subscriptionDao,
+            CreateSubscriptionMapper.getInstance(),
+            CreateSubscriptionValidator.getInstance(),
+            Clock.systemUTC(),
+            TransactionTemplate.getInstance());
+    private final ZipfDistribution userIds;
+    private final Map<Integer, Integer> subscriptionIdsByUser = new ConcurrentHashMap<>();
+    private final Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> rejections = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+    private final Operation[] operations;
+    private final int totalWeight;
+    private volatile boolean recording;
+
+    public SubscriptionLoadTest(LoadTestConfig config) {
+        this.config = config;
+        this.userIds = new ZipfDistribution(config.getUsers(), config.getZipfExponent());
+        this.operations = Operation.values();
+        this.totalWeight = config.getUpsertWeight() + config.getCancelWeight()
+                           + config.getExpireWeight() + config.getLookupWeight();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Operation mix must have a positive total weight");
+        }
+        for (var operation : operations) {
+            histograms.put(operation, new LatencyHistogram());
+            rejections.put(operation, new LongAdder());
+            failures.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        var config = LoadTestConfig.parse(args);
+        var loadTest = new SubscriptionLoadTest(config);
+        try {
+            loadTest.prepareSchema();
+            loadTest.seed();
+            loadTest.run();
+        } finally {
+            ConnectionManager.closePool();
+        }
+    }
+
+    public void run() throws InterruptedException {
+        System.out.printf("mode=%s threads=%d virtual=%s rate=%d users=%d zipf=%.2f warmup=%s duration=%s%n",
+                config.getMode(), config.getThreads(), config.isVirtualThreads(), config.getRate(),
+                config.getUsers(), config.getZipfExponent(), config.getWarmup(), config.getDuration());
+
+        recording = false;
+        runPhase(config.getWarmup());
+        recording = true;
+        var startedAt = System.nanoTime();
+        runPhase(config.getDuration());
+        var elapsed = System.nanoTime() - startedAt;
+        recording = false;
+
+        report(elapsed);
+    }
+
+    private void runPhase(Duration duration) throws InterruptedException {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        if (config.getMode() == LoadTestConfig.Mode.OPEN) {
+            runOpenLoop(duration);
+        } else {
+            runClosedLoop(duration);
+        }
+    }
+
+    private void runOpenLoop(Duration duration) throws InterruptedException {
+        var executor = newExecutor();
+        var interval = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        var startedAt = System.nanoTime();
+        var stopAt = startedAt + duration.toNanos();
+        for (long i = 0; ; i++) {
+            var intendedStart = startedAt + i * interval;
+            if (intendedStart >= stopAt) {
+                break;
+            }
+            var delay = intendedStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            var operation = nextOperation();
+            executor.execute(() -> execute(operation, intendedStart, 0));
+        }
+        awaitTermination(executor);
+    }
+
+    private void runClosedLoop(Duration duration) throws InterruptedException {
+        var executor = newExecutor();
+        var stopAt = System.nanoTime() + duration.toNanos();
+        var expectedInterval = config.getExpectedInterval().toNanos();
+        for (int i = 0; i < config.getThreads(); i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < stopAt) {
+                    execute(nextOperation(), System.nanoTime(), expectedInterval);
+                }
+            });
+        }
+        awaitTermination(executor);
+    }
+
+    private ExecutorService newExecutor() {
+        return config.isVirtualThreads()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(config.getThreads());
+    }
+
+    private void awaitTermination(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void execute(Operation operation, long intendedStart, long expectedInterval) {
+        try {
+            switch (operation) {
+                case UPSERT -> upsert();
+                case CANCEL -> cancel();
+                case EXPIRE -> expire();
+                case LOOKUP -> subscriptionDao.findByUserId(userIds.next());
+            }
+        } catch (SubscriptionException | IllegalArgumentException e) {
+            if (recording) {
+                rejections.get(operation).increment();
+            }
+        } catch (Exception e) {
+            if (recording) {
+                failures.get(operation).increment();
+            }
+        }
+        if (recording) {
+            histograms.get(operation).recordCorrectedValue(System.nanoTime() - intendedStart, expectedInterval);
+        }
+    }
+
+    private void upsert() {
+        var userId = userIds.next();
+        var saved = subscriptionService.upsert(CreateSubscriptionDto.builder()
+                .userId(userId)
+                .name(nameOf(ThreadLocalRandom.current().nextInt(config.getNamesPerUser())))
+                .provider(Provider.GOOGLE.name())
+                .expirationDate(Instant.now().plus(Duration.ofDays(30)))
+                .build());
+        subscriptionIdsByUser.put(userId, saved.getId());
+    }
+
+    private void cancel() {
+        subscriptionService.cancel(subscriptionIdOf(userIds.next()));
+    }
+
+    private void expire() {
+        subscriptionService.expire(subscriptionIdOf(userIds.next()));
+    }
+
+    private Integer subscriptionIdOf(int userId) {
+        var subscriptionId = subscriptionIdsByUser.get(userId);
+        if (subscriptionId == null) {
+            throw new IllegalArgumentException("No subscription for user " + userId);
+        }
+        return subscriptionId;
+    }
+
+    private Operation nextOperation() {
+        var value = ThreadLocalRandom.current().nextInt(totalWeight);
+        if ((value -= config.getUpsertWeight()) < 0) {
+            return Operation.UPSERT;
+        }
+        if ((value -= config.getCancelWeight()) < 0) {
+            return Operation.CANCEL;
+        }
+        if (value - config.getExpireWeight() < 0) {
+            return Operation.EXPIRE;
+        }
+        return Operation.LOOKUP;
+    }
+
+    private void report(long elapsed) {
+        var total = new LatencyHistogram();
+        System.out.printf("%-8s %10s %10s %10s %10s %10s %10s %10s %10s%n",
+                "op", "count", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "rejected", "failed");
+        for (var operation : operations) {
+            var histogram = histograms.get(operation);
+            total.add(histogram);
+            printRow(operation.name(), histogram, elapsed,
+                    rejections.get(operation).sum(), failures.get(operation).sum());
+        }
+        printRow("TOTAL", total, elapsed,
+                rejections.values().stream().mapToLong(LongAdder::sum).sum(),
+                failures.values().stream().mapToLong(LongAdder::sum).sum());
+        if (config.getMode() == LoadTestConfig.Mode.CLOSED && config.getExpectedInterval().isZero()) {
+            System.out.println("closed loop without expectedInterval: latencies are not corrected for coordinated omission");
+        }
+    }
+
+    private static void printRow(String name, LatencyHistogram histogram, long elapsed, long rejected, long failed) {
+        System.out.printf("%-8s %10d %10.0f %10.3f %10.3f %10.3f %10.3f %10d %10d%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() * 1e9 / elapsed,
+                histogram.getValueAtPercentile(50) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6,
+                histogram.getMaxValue() / 1e6,
+                rejected,
+                failed);
+    }
+
+    private void seed() {
+        List<Subscription> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int userId = 1; userId <= config.getUsers(); userId++) {
+            batch.add(Subscription.builder()
+                    .userId(userId)
+                    .name(nameOf(0))
+                    .provider(Provider.GOOGLE)
+                    .expirationDate(Instant.now().plus(Duration.ofDays(30)))
+                    .status(Status.ACTIVE)
+                    .build());
+            if (batch.size() == SEED_BATCH_SIZE || userId == config.getUsers()) {
+                for (var subscription : subscriptionDao.upsertAll(batch)) {
+                    subscriptionIdsByUser.put(subscription.getUserId(), subscription.getId());
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private static String nameOf(int index) {
+        return "load-" + index;
+    }
+
+    private void prepareSchema() {
+        if (PropertiesUtil.get("db.url").startsWith("jdbc:h2:")) {
+            TestSchema.create();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.dmdev.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ZipfDistribution {
+
+    private final double[] cumulativeProbabilities;
+
+    public ZipfDistribution(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        cumulativeProbabilities = new double[size];
+        var sum = 0.0;
+        for (int rank = 1; rank <= size; rank++) {
+            sum += 1 / Math.pow(rank, exponent);
+            cumulativeProbabilities[rank - 1] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulativeProbabilities[i] /= sum;
+        }
+    }
+
+    public int next() {
+        var index = Arrays.binarySearch(cumulativeProbabilities, ThreadLocalRandom.current().nextDouble());
+        return (index >= 0 ? index : Math.min(-index - 1, cumulativeProbabilities.length - 1)) + 1;
+    }
+}
@@ -0,0 +1,90 @@
+package com.dmdev.cache;
+
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActiveSubscriptionIndexTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final ActiveSubscriptionIndex index = new ActiveSubscriptionIndex(4);
+
+    @Test
+    void shouldFindActiveSubscription() {
+        index.onChange(getSubscription(1, 10, "Ivan", Provider.GOOGLE));
+
+        assertTrue(index.hasActiveSubscription(10, "Ivan", Provider.GOOGLE, NOW));
+        assertFalse(index.hasActiveSubscription(10, "Ivan", Provider.APPLE, NOW));
+        assertFalse(index.hasActiveSubscription(10, "Petr", Provider.GOOGLE, NOW));
+        assertFalse(index.hasActiveSubscription(11, "Ivan", Provider.GOOGLE, NOW));
+    }
+
+    @Test
+    void shouldNotFindExpiredByDateSubscription() {
+        index.onChange(getSubscription(1, 10, "Ivan", Provider.GOOGLE));
+
+        assertFalse(index.hasActiveSubscription(10, "Ivan", Provider.GOOGLE, Instant.parse("2025-02-01T00:00:00Z")));
+    }
+
+    @Test
+    void shouldRemoveSubscriptionIfNoLongerActive() {
+        var subscription = getSubscription(1, 10, "Ivan", Provider.GOOGLE);
+        index.onChange(subscription);
+        index.onChange(getSubscription(2, 10, "Petr", Provider.GOOGLE));
+
+        index.onChange(subscription.setStatus(Status.CANCELED));
+
+        assertFalse(index.hasActiveSubscription(10, "Ivan", Provider.GOOGLE, NOW));
+        assertTrue(index.hasActiveSubscription(10, "Petr", Provider.GOOGLE, NOW));
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMoveSubscriptionIfUserChanged() {
+        var subscription = getSubscription(1, 10, "Ivan", Provider.GOOGLE);
+        index.onChange(subscription);
+
+        index.onChange(subscription.setUserId(20));
+
+        assertFalse(index.hasActiveSubscription(10, "Ivan", Provider.GOOGLE, NOW));
+        assertTrue(index.hasActiveSubscription(20, "Ivan", Provider.GOOGLE, NOW));
+    }
+
+    @Test
+    void shouldKeepAllSubscriptionsAfterGrowingAndRemoving() {
+        for (int id = 1; id <= 1000; id++) {
+            index.onChange(getSubscription(id, id % 100, "name" + id % 7, Provider.APPLE));
+        }
+        for (int id = 1; id <= 1000; id += 2) {
+            index.remove(id);
+        }
+
+        assertThat(index.size()).isEqualTo(500);
+        for (int id = 1; id <= 1000; id++) {
+            var actualResult = index.hasActiveSubscription(id % 100, "name" + id % 7, Provider.APPLE, NOW);
+            if (id % 2 == 0) {
+                assertTrue(actualResult);
+            }
+        }
+        assertFalse(index.hasActiveSubscription(1, "name1", Provider.APPLE, NOW));
+    }
+
+    private Subscription getSubscription(Integer id, Integer userId, String name, Provider provider) {
+        return Subscription.builder()
+                .id(id)
+                .userId(userId)
+                .name(name)
+                .provider(provider)
+                .expirationDate(Instant.parse("2025-01-23T00:00:00Z"))
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
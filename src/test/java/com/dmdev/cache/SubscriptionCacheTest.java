@@ -0,0 +1,169 @@
+package com.dmdev.cache;
+
+import com.dmdev.config.AppConfig;
+import com.dmdev.config.ConfigManager;
+import com.dmdev.dao.ChangeBatch;
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SubscriptionCacheTest {
+
+    private final SubscriptionDao subscriptionDao = mock(SubscriptionDao.class);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReconcileSnapshotOnWarmStart() {
+        var snapshotPath = directory.resolve("cache.snapshot");
+        SubscriptionSnapshot.write(snapshotPath, List.of(getSubscription(1), getSubscription(2)), 5);
+        var canceled = getSubscription(1).setStatus(Status.CANCELED);
+        doReturn(new ChangeBatch(List.of(canceled), List.of(2), 7, false))
+                .when(subscriptionDao).findChangedSince(eq(5L), anyInt());
+        doReturn(new ChangeBatch(List.of(), List.of(), 7, false))
+                .when(subscriptionDao).findChangedSince(eq(7L), anyInt());
+        doReturn(Optional.empty()).when(subscriptionDao).findById(2);
+        var cache = new SubscriptionCache(subscriptionDao, snapshotPath, 10);
+
+        var actualResult = cache.warmStart();
+
+        assertEquals(2, actualResult);
+        assertEquals(7, cache.getCursor());
+        assertThat(cache.findById(1)).contains(canceled);
+        assertThat(cache.findById(2)).isEmpty();
+    }
+
+    @Test
+    void shouldServeSnapshotUntilEvicted() {
+        var snapshotPath = directory.resolve("cache.snapshot");
+        SubscriptionSnapshot.write(snapshotPath, List.of(getSubscription(1)), 5);
+        doReturn(new ChangeBatch(List.of(), List.of(), 5, false))
+                .when(subscriptionDao).findChangedSince(eq(5L), anyInt());
+        var expired = getSubscription(1).setStatus(Status.EXPIRED);
+        doReturn(Optional.of(expired)).when(subscriptionDao).findById(1);
+        var cache = new SubscriptionCache(subscriptionDao, snapshotPath, 0);
+        cache.warmStart();
+
+        var fromSnapshot = cache.findById(1);
+        cache.evict(1);
+        var afterEviction = cache.findById(1);
+
+        assertThat(fromSnapshot).contains(getSubscription(1));
+        assertThat(afterEviction).contains(expired);
+    }
+
+    @Test
+    void shouldKeepUnreadSnapshotRecordsWhenWritingSnapshot() {
+        var snapshotPath = directory.resolve("cache.snapshot");
+        SubscriptionSnapshot.write(snapshotPath, List.of(getSubscription(1), getSubscription(2), getSubscription(3)), 5);
+        var canceled = getSubscription(1).setStatus(Status.CANCELED);
+        doReturn(new ChangeBatch(List.of(canceled), List.of(2), 7, false))
+                .when(subscriptionDao).findChangedSince(eq(5L), anyInt());
+        doReturn(new ChangeBatch(List.of(), List.of(), 7, false))
+                .when(subscriptionDao).findChangedSince(eq(7L), anyInt());
+        var cache = new SubscriptionCache(subscriptionDao, snapshotPath, 10);
+        cache.warmStart();
+
+        var actualResult = cache.writeSnapshot();
+
+        var written = SubscriptionSnapshot.open(snapshotPath);
+        assertEquals(2, actualResult);
+        assertEquals(7, written.getCursor());
+        assertThat(written.findAll()).containsExactly(canceled, getSubscription(3));
+    }
+
+    @Test
+    void shouldApplyChangesFromWritePaths() {
+        doReturn(Optional.of(getSubscription(1))).when(subscriptionDao).findById(1);
+        var cache = new SubscriptionCache(subscriptionDao, directory.resolve("cache.snapshot"), 10);
+        cache.findById(1);
+
+        cache.onChange(getSubscription(1).setStatus(Status.CANCELED));
+        var changed = cache.findById(1);
+        cache.onDelete(1);
+        doReturn(Optional.empty()).when(subscriptionDao).findById(1);
+        var deleted = cache.findById(1);
+
+        assertThat(changed).hasValueSatisfying(found -> assertEquals(Status.CANCELED, found.getStatus()));
+        assertThat(deleted).isEmpty();
+        verify(subscriptionDao, times(2)).findById(1);
+    }
+
+    @Test
+    void shouldKeepRunningMaintenanceAfterFailure() throws Exception {
+        var attempts = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            attempts.countDown();
+            throw new IllegalStateException("database unavailable");
+        }).when(subscriptionDao).findChangedSince(anyLong(), anyInt());
+        var cache = new SubscriptionCache(subscriptionDao, directory.resolve("cache.snapshot"), 10);
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            cache.scheduleMaintenance(scheduler, Duration.ofMillis(1), Duration.ofHours(1));
+
+            assertTrue(attempts.await(5, TimeUnit.SECONDS));
+        } finally {
+            scheduler.shutdownNow();
+        }
+
+        assertThat(cache.getMaintenanceFailures()).isPositive();
+        assertThat(cache.getLastMaintenanceError()).containsInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldTrimEntriesWhenMaxSizeIsReloaded() throws Exception {
+        var overrideFile = directory.resolve("override.properties");
+        var configManager = new ConfigManager(Map.of(
+                AppConfig.SUBSCRIPTION_CACHE_MAX_SIZE_KEY, "10",
+                AppConfig.SUBSCRIPTION_SNAPSHOT_PATH_KEY, directory.resolve("cache.snapshot").toString())::get,
+                overrideFile);
+        var cache = SubscriptionCache.fromConfig(subscriptionDao, configManager);
+        for (int id = 1; id <= 5; id++) {
+            doReturn(Optional.of(getSubscription(id))).when(subscriptionDao).findById(id);
+            cache.findById(id);
+        }
+
+        Files.writeString(overrideFile, AppConfig.SUBSCRIPTION_CACHE_MAX_SIZE_KEY + "=2");
+        configManager.reload();
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    private Subscription getSubscription(Integer id) {
+        return Subscription.builder()
+                .id(id)
+                .userId(id)
+                .name("Ivan")
+                .provider(Provider.GOOGLE)
+                .expirationDate(Instant.parse("2099-01-23T00:00:00Z"))
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.dmdev.cache;
+
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SubscriptionSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadWrittenSubscriptionsById() {
+        var path = directory.resolve("subscriptions.snapshot");
+        var subscription1 = getSubscription(3, 1, "Ivan");
+        var subscription2 = getSubscription(1, 2, "Петр");
+        SubscriptionSnapshot.write(path, List.of(subscription1, subscription2), 42);
+
+        var snapshot = SubscriptionSnapshot.open(path);
+
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.getCursor()).isEqualTo(42);
+        assertThat(snapshot.findById(3)).contains(subscription1);
+        assertThat(snapshot.findById(1)).contains(subscription2);
+        assertTrue(snapshot.findById(2).isEmpty());
+    }
+
+    @Test
+    void shouldReadWrittenSubscriptionsByUserId() {
+        var path = directory.resolve("subscriptions.snapshot");
+        var subscription1 = getSubscription(1, 7, "Ivan");
+        var subscription2 = getSubscription(2, 5, "Petr");
+        var subscription3 = getSubscription(3, 7, "Sveta");
+        SubscriptionSnapshot.write(path, List.of(subscription1, subscription2, subscription3), 0);
+
+        var snapshot = SubscriptionSnapshot.open(path);
+
+        assertThat(snapshot.findByUserId(7)).containsExactly(subscription1, subscription3);
+        assertThat(snapshot.findByUserId(5)).containsExactly(subscription2);
+        assertThat(snapshot.findByUserId(6)).isEmpty();
+    }
+
+    @Test
+    void shouldSkipSubscriptionsWithoutId() {
+        var path = directory.resolve("subscriptions.snapshot");
+        SubscriptionSnapshot.write(path, List.of(getSubscription(null, 1, "Ivan")), 0);
+
+        var snapshot = SubscriptionSnapshot.open(path);
+
+        assertThat(snapshot.size()).isZero();
+    }
+
+    private Subscription getSubscription(Integer id, Integer userId, String name) {
+        return Subscription.builder()
+                .id(id)
+                .userId(userId)
+                .name(name)
+                .provider(Provider.APPLE)
+                .expirationDate(Instant.parse("2025-01-23T00:00:00Z"))
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
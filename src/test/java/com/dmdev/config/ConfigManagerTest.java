@@ -0,0 +1,124 @@
+package com.dmdev.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigManagerTest {
+
+    private static final Map<String, String> BASE = Map.of(
+            AppConfig.POOL_SIZE_KEY, "4",
+            AppConfig.RETRY_MAX_ATTEMPTS_KEY, "3");
+
+    @TempDir
+    Path directory;
+
+    private ConfigManager configManager;
+
+    @AfterEach
+    void closeConfigManager() {
+        if (configManager != null) {
+            configManager.close();
+        }
+    }
+
+    @Test
+    void shouldUseDefaultsForMissingKeys() {
+        var actualResult = AppConfig.parse(key -> null);
+
+        assertAll(
+                () -> assertEquals(10, actualResult.getPoolSize()),
+                () -> assertEquals(Duration.ofSeconds(30), actualResult.getAcquireTimeout()),
+                () -> assertEquals(100, actualResult.getWriteBatchSize()),
+                () -> assertEquals(Duration.ofMillis(5), actualResult.getWriteFlushInterval())
+        );
+    }
+
+    @Test
+    void shouldRejectInvalidValueNamingTheKey() {
+        var exception = assertThrows(IllegalArgumentException.class,
+                () -> AppConfig.parse(Map.of(AppConfig.POOL_SIZE_KEY, "0")::get));
+
+        assertTrue(exception.getMessage().contains(AppConfig.POOL_SIZE_KEY));
+    }
+
+    @Test
+    void shouldApplyOverrideFileOnTopOfBaseSource() throws Exception {
+        var overrideFile = directory.resolve("override.properties");
+        Files.writeString(overrideFile, "db.pool.size=8");
+
+        configManager = new ConfigManager(BASE::get, overrideFile);
+
+        assertAll(
+                () -> assertEquals(8, configManager.current().getPoolSize()),
+                () -> assertEquals(3, configManager.current().getRetryMaxAttempts())
+        );
+    }
+
+    @Test
+    void shouldNotifyListenersOnlyWhenConfigChanged() throws Exception {
+        var overrideFile = directory.resolve("override.properties");
+        configManager = new ConfigManager(BASE::get, overrideFile);
+        var received = new CopyOnWriteArrayList<AppConfig>();
+        configManager.addListener(received::add);
+
+        var unchanged = configManager.reload();
+        Files.writeString(overrideFile, "db.retry.max-attempts=5");
+        var changed = configManager.reload();
+
+        assertAll(
+                () -> assertFalse(unchanged),
+                () -> assertTrue(changed),
+                () -> assertEquals(1, received.size()),
+                () -> assertEquals(5, received.get(0).getRetryMaxAttempts())
+        );
+    }
+
+    @Test
+    void shouldKeepPreviousSnapshotWhenReloadFails() throws Exception {
+        var overrideFile = directory.resolve("override.properties");
+        configManager = new ConfigManager(BASE::get, overrideFile);
+        var previous = configManager.current();
+
+        Files.writeString(overrideFile, "db.pool.size=many");
+        var actualResult = configManager.reload();
+
+        assertAll(
+                () -> assertFalse(actualResult),
+                () -> assertEquals(previous, configManager.current()),
+                () -> assertTrue(configManager.getLastReloadError().isPresent())
+        );
+    }
+
+    @Test
+    void shouldReloadWhenOverrideFileChanges() throws Exception {
+        var overrideFile = directory.resolve("override.properties");
+        configManager = new ConfigManager(BASE::get, overrideFile);
+        var reloaded = new CountDownLatch(1);
+        configManager.addListener(config -> {
+            if (config.getPoolSize() == 6) {
+                reloaded.countDown();
+            }
+        });
+        configManager.startWatching();
+
+        Files.writeString(overrideFile, "db.pool.size=6");
+
+        assertTrue(reloaded.await(20, TimeUnit.SECONDS));
+        assertEquals(6, configManager.current().getPoolSize());
+    }
+}
@@ -0,0 +1,84 @@
+package com.dmdev.dao;
+
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import com.dmdev.integration.IntegrationTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyKeyDaoIT extends IntegrationTestBase {
+
+    private final IdempotencyKeyDao idempotencyKeyDao = IdempotencyKeyDao.getInstance();
+
+    @BeforeEach
+    void cleanData() throws SQLException {
+        deleteAll("idempotency_key");
+    }
+
+    @Test
+    void findByKey() {
+        var subscription = getSubscription();
+        idempotencyKeyDao.saveIfAbsent("key", subscription);
+
+        var actualResult = idempotencyKeyDao.findByKey("key");
+
+        assertThat(actualResult).isPresent();
+        assertThat(actualResult.get()).isEqualTo(subscription);
+    }
+
+    @Test
+    void shouldNotSaveIfKeyAlreadyExists() {
+        idempotencyKeyDao.saveIfAbsent("key", getSubscription());
+
+        var actualResult = idempotencyKeyDao.saveIfAbsent("key", getSubscription().setStatus(Status.CANCELED));
+
+        assertFalse(actualResult);
+        assertThat(idempotencyKeyDao.findByKey("key").get().getStatus()).isEqualTo(Status.ACTIVE);
+    }
+
+    @Test
+    void shouldDeleteKeysCreatedBeforeInstant() {
+        idempotencyKeyDao.saveIfAbsent("key", getSubscription());
+
+        var actualResult = idempotencyKeyDao.deleteCreatedBefore(Instant.now().plusSeconds(1));
+
+        assertThat(actualResult).isEqualTo(1);
+        assertTrue(idempotencyKeyDao.findByKey("key").isEmpty());
+    }
+
+    @Test
+    void shouldDeleteOnlyKeysOlderThanRetention() {
+        var createdAt = Instant.parse("2030-01-01T00:00:00Z");
+        new IdempotencyKeyDao(Clock.fixed(createdAt, ZoneOffset.UTC)).saveIfAbsent("old", getSubscription());
+        var laterDao = new IdempotencyKeyDao(Clock.fixed(createdAt.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+        laterDao.saveIfAbsent("new", getSubscription());
+
+        var actualResult = laterDao.deleteExpired(Duration.ofHours(1));
+
+        assertThat(actualResult).isEqualTo(1);
+        assertTrue(idempotencyKeyDao.findByKey("old").isEmpty());
+        assertTrue(idempotencyKeyDao.findByKey("new").isPresent());
+    }
+
+    private Subscription getSubscription() {
+        return Subscription.builder()
+                .id(1)
+                .userId(1)
+                .name("Ivan")
+                .provider(Provider.GOOGLE)
+                .expirationDate(Instant.parse("2025-01-23T00:00:00Z"))
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
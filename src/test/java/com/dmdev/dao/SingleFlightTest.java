@@ -0,0 +1,142 @@
+package com.dmdev.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Integer, List<String>> singleFlight = new SingleFlight<>(ArrayList::new);
+
+    @Test
+    void shouldShareInFlightResultBetweenConcurrentCalls() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var loads = new AtomicInteger();
+
+        var leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return List.of("Ivan");
+        }));
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+        var follower = startFollower(() -> singleFlight.execute(1, () -> {
+            loads.incrementAndGet();
+            return List.of("Petr");
+        }));
+        release.countDown();
+
+        assertThat(leader.get(1, TimeUnit.SECONDS)).containsExactly("Ivan");
+        assertThat(follower.get(1, TimeUnit.SECONDS)).containsExactly("Ivan");
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldPropagateLoaderFailure() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(1, () -> {
+            throw new IllegalStateException();
+        }));
+
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldPropagateLeaderFailureToFollowers() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var failure = new IllegalStateException("database unavailable");
+
+        var leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1, () -> {
+            loading.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+        var follower = startFollower(() -> singleFlight.execute(1, () -> List.of("Petr")));
+        release.countDown();
+
+        var leaderException = assertThrows(ExecutionException.class, () -> leader.get(1, TimeUnit.SECONDS));
+        var followerException = assertThrows(ExecutionException.class, () -> follower.get(1, TimeUnit.SECONDS));
+        assertThat(leaderException).hasCause(failure);
+        assertThat(followerException).hasCause(failure);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldRestoreInterruptOfWaitingFollower() throws Exception {
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var interrupted = new AtomicBoolean();
+
+        var leader = CompletableFuture.supplyAsync(() -> singleFlight.execute(1, () -> {
+            loading.countDown();
+            await(release);
+            return List.of("Ivan");
+        }));
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+        var follower = new FutureTask<List<String>>(() -> {
+            try {
+                return singleFlight.execute(1, () -> List.of("Petr"));
+            } finally {
+                interrupted.set(Thread.currentThread().isInterrupted());
+            }
+        });
+        var thread = startFollower(follower);
+        thread.interrupt();
+
+        var followerException = assertThrows(ExecutionException.class, () -> follower.get(1, TimeUnit.SECONDS));
+        release.countDown();
+        assertThat(leader.get(1, TimeUnit.SECONDS)).containsExactly("Ivan");
+        assertThat(followerException).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(followerException.getCause()).hasCauseInstanceOf(InterruptedException.class);
+        assertThat(interrupted).isTrue();
+    }
+
+    @Test
+    void shouldLoadAgainAfterCompletion() {
+        singleFlight.execute(1, () -> List.of("Ivan"));
+
+        var actualResult = singleFlight.execute(1, () -> List.of("Petr"));
+
+        assertThat(actualResult).containsExactly("Petr");
+    }
+
+    private FutureTask<List<String>> startFollower(Callable<List<String>> call) {
+        var follower = new FutureTask<>(call);
+        startFollower(follower);
+        return follower;
+    }
+
+    private Thread startFollower(FutureTask<List<String>> follower) {
+        var thread = new Thread(follower, "single-flight-follower");
+        thread.start();
+        var waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && !follower.isDone()) {
+            assertThat(System.nanoTime() - waitUntil).isNegative();
+            Thread.onSpinWait();
+        }
+        return thread;
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
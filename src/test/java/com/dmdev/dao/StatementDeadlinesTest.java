@@ -0,0 +1,96 @@
+package com.dmdev.dao;
+
+import com.dmdev.deadline.Deadline;
+import com.dmdev.exception.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class StatementDeadlinesTest {
+
+    private final Statement statement = mock(Statement.class);
+
+    @Test
+    void shouldExecuteWithoutTimeoutIfNoDeadline() throws SQLException {
+        var actualResult = StatementDeadlines.execute(statement, () -> 1);
+
+        assertEquals(1, actualResult);
+        verify(statement, never()).setQueryTimeout(1);
+    }
+
+    @Test
+    void shouldCancelStatementAtDeadline() throws SQLException {
+        var cancelled = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(statement).cancel();
+
+        var exception = assertThrows(DeadlineExceededException.class,
+                () -> Deadline.call(Deadline.after(Duration.ofMillis(50)), () -> execute(() -> {
+                    if (!cancelled.await(5, TimeUnit.SECONDS)) {
+                        return 0;
+                    }
+                    throw new SQLException("canceling statement due to user request", "57014");
+                })));
+
+        assertThat(exception).hasCauseInstanceOf(SQLException.class);
+        verify(statement).cancel();
+        verify(statement).setQueryTimeout(1);
+        verify(statement).setQueryTimeout(0);
+    }
+
+    @Test
+    void shouldWaitForRunningCancelBeforeReturning() throws Exception {
+        var cancelStarted = new CountDownLatch(1);
+        var events = new CopyOnWriteArrayList<String>();
+        doAnswer(invocation -> {
+            cancelStarted.countDown();
+            Thread.sleep(100);
+            events.add("cancelled");
+            return null;
+        }).when(statement).cancel();
+
+        var actualResult = Deadline.call(Deadline.after(Duration.ofMillis(50)), () -> execute(() -> {
+            cancelStarted.await(5, TimeUnit.SECONDS);
+            return 1;
+        }));
+        events.add("returned");
+
+        assertEquals(1, actualResult);
+        assertThat(events).containsExactly("cancelled", "returned");
+    }
+
+    private Integer execute(InterruptibleCall call) {
+        try {
+            return StatementDeadlines.execute(statement, () -> {
+                try {
+                    return call.call();
+                } catch (InterruptedException e) {
+                    throw new SQLException(e);
+                }
+            });
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface InterruptibleCall {
+
+        Integer call() throws SQLException, InterruptedException;
+    }
+}
@@ -0,0 +1,124 @@
+package com.dmdev.dao;
+
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import com.dmdev.integration.IntegrationTestBase;
+import com.dmdev.transaction.TransactionTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
+
+@ResourceLock(value = IntegrationTestBase.SUBSCRIPTION_TABLE, mode = READ_WRITE)
+class SubscriptionChangeFeedIT extends IntegrationTestBase {
+
+    private final SubscriptionDao subscriptionDao = SubscriptionDao.getInstance();
+    private final TransactionTemplate transactionTemplate = TransactionTemplate.getInstance();
+
+    @BeforeEach
+    void cleanData() throws SQLException {
+        deleteAll(SUBSCRIPTION_TABLE);
+        deleteAll("subscription_tombstone");
+    }
+
+    @Test
+    void shouldContinueFindChangedSinceFromCursor() {
+        var subscription1 = getSubscription(nextUserId());
+        var subscription2 = getSubscription(nextUserId());
+        subscriptionDao.insert(subscription1);
+        subscriptionDao.insert(subscription2);
+
+        var firstBatch = subscriptionDao.findChangedSince(0, 1, Duration.ZERO);
+        var secondBatch = subscriptionDao.findChangedSince(firstBatch.getCursor(), 1, Duration.ZERO);
+        var lastBatch = subscriptionDao.findChangedSince(secondBatch.getCursor(), 1, Duration.ZERO);
+
+        assertThat(firstBatch.getSubscriptions()).containsExactly(subscription1);
+        assertThat(secondBatch.getSubscriptions()).containsExactly(subscription2);
+        assertTrue(lastBatch.isEmpty());
+        assertThat(lastBatch.getCursor()).isEqualTo(secondBatch.getCursor());
+    }
+
+    @Test
+    void shouldKeepCursorBehindUnsettledChanges() {
+        var subscription = subscriptionDao.insert(getSubscription(nextUserId()));
+
+        var actualResult = subscriptionDao.findChangedSince(0, 10, Duration.ofMinutes(1));
+
+        assertThat(actualResult.getSubscriptions()).containsExactly(subscription);
+        assertTrue(actualResult.isUnsettled());
+        assertThat(actualResult.getCursor()).isZero();
+    }
+
+    @Test
+    void shouldNotSkipChangeCommittedAfterLaterSequence() throws Exception {
+        var first = subscriptionDao.insert(getSubscription(nextUserId()));
+        var second = subscriptionDao.insert(getSubscription(nextUserId()));
+        var cursor = subscriptionDao.findChangedSince(0, 10, Duration.ZERO).getCursor();
+        var firstUpdated = new CountDownLatch(1);
+        var commitFirst = new CountDownLatch(1);
+        var slowTransaction = CompletableFuture.runAsync(() -> transactionTemplate.run(() -> {
+            subscriptionDao.update(first.setStatus(Status.CANCELED));
+            firstUpdated.countDown();
+            await(commitFirst);
+        }));
+        assertTrue(firstUpdated.await(10, TimeUnit.SECONDS));
+        subscriptionDao.update(second.setStatus(Status.EXPIRED));
+
+        var beforeCommit = subscriptionDao.findChangedSince(cursor, 10, Duration.ofMinutes(1));
+        commitFirst.countDown();
+        slowTransaction.get(10, TimeUnit.SECONDS);
+        var afterCommit = subscriptionDao.findChangedSince(beforeCommit.getCursor(), 10, Duration.ZERO);
+
+        assertThat(beforeCommit.getSubscriptions()).containsExactly(second);
+        assertThat(beforeCommit.getCursor()).isEqualTo(cursor);
+        assertThat(afterCommit.getSubscriptions()).containsExactlyInAnyOrder(first, second);
+        assertFalse(afterCommit.isUnsettled());
+    }
+
+    @Test
+    void shouldReportDeletedSubscriptionsAfterTheirLastChange() {
+        var userId = nextUserId();
+        var deleted = subscriptionDao.insert(getSubscription(userId));
+        var retained = subscriptionDao.insert(getSubscription(nextUserId()));
+        var cursor = subscriptionDao.findChangedSince(0, 10, Duration.ZERO).getCursor();
+        subscriptionDao.update(retained.setStatus(Status.CANCELED));
+        subscriptionDao.deleteByUserId(userId);
+
+        var actualResult = subscriptionDao.findChangedSince(cursor, 10, Duration.ZERO);
+
+        assertThat(actualResult.getSubscriptions()).containsExactly(retained);
+        assertThat(actualResult.getDeletedIds()).containsExactly(deleted.getId());
+        assertThat(actualResult.getCursor()).isGreaterThan(cursor);
+        assertTrue(subscriptionDao.findChangedSince(actualResult.getCursor(), 10, Duration.ZERO).isEmpty());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Subscription getSubscription(Integer userId) {
+        return Subscription.builder()
+                .userId(userId)
+                .name("Ivan")
+                .provider(Provider.GOOGLE)
+                .expirationDate(Instant.parse("2025-01-23T00:00:00Z"))
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
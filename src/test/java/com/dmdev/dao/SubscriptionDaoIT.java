@@ -5,31 +5,42 @@ import com.dmdev.entity.Status;
 import com.dmdev.entity.Subscription;
 import com.dmdev.integration.IntegrationTestBase;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
 
-
+@Execution(CONCURRENT)
 class SubscriptionDaoIT extends IntegrationTestBase {
 
     private final SubscriptionDao subscriptionDao = SubscriptionDao.getInstance();
 
     @Test
     void findAll() {
-        var subscription1 = getSubscription(getRandomUserId());
-        var subscription2 = getSubscription(getRandomUserId());
-        var subscription3 = getSubscription(getRandomUserId());
-        subscriptionDao.insert(subscription1);
-        subscriptionDao.insert(subscription2);
-        subscriptionDao.insert(subscription3);
+        var subscription1 = getSubscription(nextUserId());
+        var subscription2 = getSubscription(nextUserId());
+        var subscription3 = getSubscription(nextUserId());
+        seed(subscription1, subscription2, subscription3);
+        var userIds = Set.of(subscription1.getUserId(), subscription2.getUserId(), subscription3.getUserId());
 
-        var ids = subscriptionDao.findAll().stream().map(Subscription::getId).toList();
+        var ids = subscriptionDao.findAll().stream()
+                .filter(subscription -> userIds.contains(subscription.getUserId()))
+                .map(Subscription::getId)
+                .toList();
 
         assertThat(ids).hasSize(3);
         assertThat(ids).contains(subscription1.getId(), subscription2.getId(), subscription3.getId());
@@ -37,7 +48,7 @@ class SubscriptionDaoIT extends IntegrationTestBase {
 
     @Test
     void findById() {
-        var subscription = getSubscription(getRandomUserId());
+        var subscription = getSubscription(nextUserId());
         subscriptionDao.insert(subscription);
 
         var actualResult = subscriptionDao.findById(subscription.getId());
@@ -48,7 +59,7 @@ class SubscriptionDaoIT extends IntegrationTestBase {
 
     @Test
     void shouldSuccessfulDelete() {
-        var subscription = getSubscription(getRandomUserId());
+        var subscription = getSubscription(nextUserId());
         subscriptionDao.insert(subscription);
 
         var actualResult = subscriptionDao.delete(subscription.getId());
@@ -58,17 +69,62 @@ class SubscriptionDaoIT extends IntegrationTestBase {
 
     @Test
     void shouldNotSuccessfulDeleteIfUserDoesNotExist() {
-        var subscription = getSubscription(getRandomUserId());
+        var subscription = getSubscription(nextUserId());
         subscriptionDao.insert(subscription);
 
-        var actualResult = subscriptionDao.delete(getRandomUserId());
+        var actualResult = subscriptionDao.delete(missingId());
 
         assertFalse(actualResult);
     }
 
+    @Test
+    void shouldReportOutcomePerIdOnDeleteAll() {
+        var subscription1 = getSubscription(nextUserId());
+        var subscription2 = getSubscription(nextUserId());
+        seed(subscription1, subscription2);
+
+        var actualResult = subscriptionDao.deleteAll(List.of(subscription1.getId(), subscription2.getId(), missingId()));
+
+        assertThat(actualResult.getIds(BulkOperationReport.Outcome.DELETED))
+                .containsExactlyInAnyOrder(subscription1.getId(), subscription2.getId());
+        assertThat(actualResult.getOutcome(missingId())).isEqualTo(BulkOperationReport.Outcome.NOT_FOUND);
+        assertThat(subscriptionDao.findById(subscription1.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldDeleteAllSubscriptionsOfUser() {
+        var userId = nextUserId();
+        var subscription1 = getSubscription(userId);
+        var subscription2 = getSubscription(userId).setName("Petr");
+        var otherUserSubscription = getSubscription(nextUserId());
+        seed(subscription1, subscription2, otherUserSubscription);
+
+        var actualResult = subscriptionDao.deleteByUserId(userId);
+
+        assertThat(actualResult.getIds(BulkOperationReport.Outcome.DELETED))
+                .containsExactlyInAnyOrder(subscription1.getId(), subscription2.getId());
+        assertThat(subscriptionDao.findByUserId(userId)).isEmpty();
+        assertThat(subscriptionDao.findById(otherUserSubscription.getId())).isPresent();
+    }
+
+    @Test
+    void shouldCancelOnlyActiveSubscriptionsOfUser() {
+        var userId = nextUserId();
+        var active = getSubscription(userId);
+        var expired = getSubscription(userId).setName("Petr").setStatus(Status.EXPIRED);
+        seed(active, expired);
+
+        var actualResult = subscriptionDao.cancelAllByUserId(userId);
+
+        assertThat(actualResult).extracting(Subscription::getId).containsExactly(active.getId());
+        assertThat(actualResult).extracting(Subscription::getStatus).containsExactly(Status.CANCELED);
+        assertThat(subscriptionDao.findById(expired.getId()))
+                .hasValueSatisfying(subscription -> assertThat(subscription.getStatus()).isEqualTo(Status.EXPIRED));
+    }
+
     @Test
     void shouldSuccessfulUpdate() {
-        var subscription = getSubscription(getRandomUserId());
+        var subscription = getSubscription(nextUserId());
         subscriptionDao.insert(subscription);
         subscription.setStatus(Status.CANCELED);
         subscription.setProvider(Provider.APPLE);
@@ -82,20 +138,20 @@ class SubscriptionDaoIT extends IntegrationTestBase {
 
     @Test
     void shouldNotSuccessfulUpdateIfUserDataDoesNotUpdate() {
-        var subscription = getSubscription(getRandomUserId());
+        var subscription = getSubscription(nextUserId());
         subscriptionDao.insert(subscription);
         subscription.setStatus(Status.CANCELED);
         subscription.setProvider(Provider.APPLE);
 
         subscriptionDao.update(subscription);
 
-        Optional<Subscription> subscriptionId = subscriptionDao.findById(getRandomUserId());
+        Optional<Subscription> subscriptionId = subscriptionDao.findById(missingId());
         assertTrue(subscriptionId.isEmpty());
     }
 
     @Test
     void insert() {
-        var subscription = getSubscription(getRandomUserId());
+        var subscription = getSubscription(nextUserId());
 
         Subscription actualResult = subscriptionDao.insert(subscription);
 
@@ -105,7 +161,7 @@ class SubscriptionDaoIT extends IntegrationTestBase {
 
     @Test
     void findByUserId() {
-        var subscription = getSubscription(getRandomUserId());
+        var subscription = getSubscription(nextUserId());
         subscriptionDao.insert(subscription);
 
         var actualResult = subscriptionDao.findByUserId(subscription.getUserId()).stream().findFirst();
@@ -116,14 +172,89 @@ class SubscriptionDaoIT extends IntegrationTestBase {
 
     @Test
     void shouldNotFindByUserIdIfUserIdDoesNotExist() {
-        var subscription = getSubscription(getRandomUserId());
+        var subscription = getSubscription(nextUserId());
         subscriptionDao.insert(subscription);
 
-        var possibleSubscription = subscriptionDao.findByUserId(getRandomUserId()).stream().findFirst();
+        var possibleSubscription = subscriptionDao.findByUserId(nextUserId()).stream().findFirst();
 
         assertTrue(possibleSubscription.isEmpty());
     }
 
+    @Test
+    void upsertAll() {
+        var existingSubscription = getSubscription(nextUserId());
+        subscriptionDao.insert(existingSubscription);
+        var updatedSubscription = getSubscription(existingSubscription.getUserId())
+                .setExpirationDate(Instant.parse("2025-02-23T00:00:00Z"));
+        var newSubscription = getSubscription(nextUserId());
+
+        subscriptionDao.upsertAll(List.of(updatedSubscription, newSubscription));
+
+        assertThat(updatedSubscription.getId()).isEqualTo(existingSubscription.getId());
+        assertThat(subscriptionDao.findById(updatedSubscription.getId())).contains(updatedSubscription);
+        assertThat(subscriptionDao.findById(newSubscription.getId())).contains(newSubscription);
+    }
+
+    @Test
+    void findChangedSince() {
+        var subscription1 = getSubscription(nextUserId());
+        var subscription2 = getSubscription(nextUserId());
+        seed(subscription1, subscription2);
+        subscriptionDao.update(subscription1.setStatus(Status.CANCELED));
+        var userIds = Set.of(subscription1.getUserId(), subscription2.getUserId());
+
+        var actualResult = subscriptionDao.findChangedSince(0, Integer.MAX_VALUE).getSubscriptions().stream()
+                .filter(subscription -> userIds.contains(subscription.getUserId()))
+                .toList();
+
+        assertThat(actualResult).containsExactly(subscription2, subscription1);
+    }
+
+    @Test
+    void publishAll() throws Exception {
+        var subscription1 = getSubscription(nextUserId());
+        var subscription2 = getSubscription(nextUserId());
+        seed(subscription1, subscription2);
+        var userIds = Set.of(subscription1.getUserId(), subscription2.getUserId());
+        var subscriber = new OneByOneSubscriber(Long.MAX_VALUE);
+
+        subscriptionDao.publishAll().subscribe(subscriber);
+
+        assertThat(subscriber.completion.get(1, TimeUnit.SECONDS))
+                .filteredOn(subscription -> userIds.contains(subscription.getUserId()))
+                .containsExactlyInAnyOrder(subscription1, subscription2);
+    }
+
+    @Test
+    void shouldStopPublishingAfterCancel() throws Exception {
+        var userId = nextUserId();
+        subscriptionDao.insert(getSubscription(userId));
+        subscriptionDao.insert(getSubscription(userId).setName("Petr"));
+        var subscriber = new OneByOneSubscriber(1);
+
+        subscriptionDao.publishByUserId(userId).subscribe(subscriber);
+
+        assertThat(subscriber.cancelled.await(1, TimeUnit.SECONDS)).isTrue();
+        assertTrue(subscriber.deliveryThread.join(Duration.ofSeconds(1)));
+        assertThat(subscriber.received).hasSize(1);
+        assertFalse(subscriber.completion.isDone());
+    }
+
+    @Test
+    void shouldCancelInsteadOfSignallingErrorWhenOnNextThrows() throws Exception {
+        var userId = nextUserId();
+        subscriptionDao.insert(getSubscription(userId));
+        subscriptionDao.insert(getSubscription(userId).setName("Petr"));
+        var subscriber = new OneByOneSubscriber(Long.MAX_VALUE, new IllegalStateException("consumer failed"));
+
+        subscriptionDao.publishByUserId(userId).subscribe(subscriber);
+
+        assertThat(subscriber.cancelled.await(1, TimeUnit.SECONDS)).isTrue();
+        assertTrue(subscriber.deliveryThread.join(Duration.ofSeconds(1)));
+        assertThat(subscriber.received).hasSize(1);
+        assertFalse(subscriber.completion.isDone());
+    }
+
     private Subscription getSubscription(Integer userId) {
         return Subscription.builder()
                 .userId(userId)
@@ -134,7 +265,56 @@ class SubscriptionDaoIT extends IntegrationTestBase {
                 .build();
     }
 
-    private Integer getRandomUserId() {
-        return ThreadLocalRandom.current().nextInt(10000);
+    private static class OneByOneSubscriber implements Flow.Subscriber<Subscription> {
+
+        private final long cancelAfter;
+        private final RuntimeException failure;
+        private final List<Subscription> received = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<List<Subscription>> completion = new CompletableFuture<>();
+        private final CountDownLatch cancelled = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+        private volatile Thread deliveryThread;
+
+        private OneByOneSubscriber(long cancelAfter) {
+            this(cancelAfter, null);
+        }
+
+        private OneByOneSubscriber(long cancelAfter, RuntimeException failure) {
+            this.cancelAfter = cancelAfter;
+            this.failure = failure;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(Subscription item) {
+            received.add(item);
+            if (failure != null) {
+                deliveryThread = Thread.currentThread();
+                cancelled.countDown();
+                throw failure;
+            }
+            if (received.size() >= cancelAfter) {
+                subscription.cancel();
+                deliveryThread = Thread.currentThread();
+                cancelled.countDown();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completion.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completion.complete(received);
+        }
     }
-}
\ No newline at end of file
+}
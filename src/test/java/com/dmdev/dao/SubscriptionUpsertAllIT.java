@@ -0,0 +1,61 @@
+package com.dmdev.dao;
+
+import com.dmdev.config.ConfigManager;
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import com.dmdev.integration.IntegrationTestBase;
+import com.dmdev.util.ConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
+
+@ResourceLock(value = IntegrationTestBase.CONNECTION_POOL, mode = READ_WRITE)
+class SubscriptionUpsertAllIT extends IntegrationTestBase {
+
+    private final SubscriptionDao subscriptionDao = SubscriptionDao.getInstance();
+
+    @BeforeEach
+    void useSingleConnection() {
+        ConnectionManager.resize(1);
+    }
+
+    @AfterEach
+    void restorePoolSize() {
+        ConnectionManager.resize(ConfigManager.getInstance().current().getPoolSize());
+    }
+
+    @Test
+    void shouldNotReplayUpdatesOfFailedBatch() {
+        var first = seed(getSubscription(nextUserId(), "Ivan")).get(0);
+        var second = seed(getSubscription(nextUserId(), "Petr")).get(0);
+        var staleUpdate = first.toBuilder().status(Status.CANCELED).build();
+        var invalidInsert = getSubscription(nextUserId(), "x".repeat(100));
+
+        assertThrows(Exception.class, () -> subscriptionDao.upsertAll(List.of(staleUpdate, invalidInsert)));
+        subscriptionDao.upsertAll(List.of(second.toBuilder().status(Status.EXPIRED).build()));
+
+        assertThat(subscriptionDao.findById(first.getId()))
+                .hasValueSatisfying(subscription -> assertThat(subscription.getStatus()).isEqualTo(Status.ACTIVE));
+        assertThat(subscriptionDao.findById(second.getId()))
+                .hasValueSatisfying(subscription -> assertThat(subscription.getStatus()).isEqualTo(Status.EXPIRED));
+    }
+
+    private Subscription getSubscription(Integer userId, String name) {
+        return Subscription.builder()
+                .userId(userId)
+                .name(name)
+                .provider(Provider.GOOGLE)
+                .expirationDate(Instant.parse("2099-01-23T00:00:00Z"))
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.dmdev.deadline;
+
+import com.dmdev.exception.DeadlineExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineTest {
+
+    @Test
+    void shouldBindDeadlineOnlyWithinScope() {
+        var deadline = Deadline.after(Duration.ofSeconds(1));
+
+        var actualResult = Deadline.call(deadline, Deadline::current);
+
+        assertThat(actualResult).containsSame(deadline);
+        assertTrue(Deadline.current().isEmpty());
+    }
+
+    @Test
+    void shouldKeepEarliestDeadlineWhenNested() {
+        var outer = Deadline.after(Duration.ofMillis(100));
+        var inner = Deadline.after(Duration.ofSeconds(10));
+
+        var actualResult = Deadline.call(outer, () -> Deadline.call(inner, () -> Deadline.current().orElseThrow()));
+
+        assertSame(outer, actualResult);
+    }
+
+    @Test
+    void shouldThrowIfExpired() {
+        var deadline = Deadline.after(Duration.ofMillis(-5));
+
+        var exception = assertThrows(DeadlineExceededException.class,
+                () -> Deadline.run(deadline, () -> Deadline.check("cancel")));
+
+        assertTrue(deadline.isExpired());
+        assertThat(exception).hasMessageStartingWith("cancel exceeded its deadline");
+    }
+
+    @Test
+    void shouldRoundRemainingSecondsUp() {
+        var deadline = Deadline.after(Duration.ofMillis(1500));
+
+        assertThat(deadline.remainingSeconds()).isEqualTo(2);
+        assertFalse(deadline.isExpired());
+    }
+}
@@ -1,40 +1,48 @@
 package com.dmdev.integration;
 
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.entity.Subscription;
 import com.dmdev.util.ConnectionManager;
 import org.junit.jupiter.api.BeforeAll;
-import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
 import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ;
+
+@ResourceLock(value = IntegrationTestBase.SUBSCRIPTION_TABLE, mode = READ)
+@ResourceLock(value = IntegrationTestBase.CONNECTION_POOL, mode = READ)
 public abstract class IntegrationTestBase {
 
-    private static final String CLEAN_SQL = "DELETE FROM subscription;";
-    private static final String CREATE_SQL = """
-            CREATE TABLE IF NOT EXISTS subscription
-            (
-                id INT AUTO_INCREMENT PRIMARY KEY ,
-                user_id INT NOT NULL ,
-                name VARCHAR(64) NOT NULL ,
-                provider VARCHAR(16) NOT NULL ,
-                expiration_date DATETIME NOT NULL ,
-                status VARCHAR(16) NOT NULL ,
-                UNIQUE (user_id, name)
-            );
-            """;
+    public static final String SUBSCRIPTION_TABLE = "subscription";
+    public static final String CONNECTION_POOL = "connection-pool";
+
+    private static final int MISSING_ID = -1;
+    private static final AtomicInteger USER_IDS = new AtomicInteger();
 
     @BeforeAll
-    static void prepareDatabase() throws SQLException {
-        try (var connection = ConnectionManager.get();
-             var statement = connection.createStatement()) {
-            statement.execute(CREATE_SQL);
-        }
+    static void prepareDatabase() {
+        TestSchema.create();
+    }
+
+    protected static Integer nextUserId() {
+        return USER_IDS.incrementAndGet();
+    }
+
+    protected static Integer missingId() {
+        return MISSING_ID;
+    }
+
+    protected static List<Subscription> seed(Subscription... subscriptions) {
+        return SubscriptionDao.getInstance().upsertAll(List.of(subscriptions));
     }
 
-    @BeforeEach
-    void cleanData() throws SQLException {
+    protected static void deleteAll(String table) throws SQLException {
         try (var connection = ConnectionManager.get();
              var statement = connection.createStatement()) {
-            statement.execute(CLEAN_SQL);
+            statement.execute("DELETE FROM " + table);
         }
     }
 }
@@ -0,0 +1,51 @@
+package com.dmdev.integration;
+
+import com.dmdev.util.ConnectionManager;
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+@UtilityClass
+public class TestSchema {
+
+    private static final String SCHEMA_RESOURCE = "schema.sql";
+
+    private static volatile boolean created;
+
+    public static void create() {
+        if (created) {
+            return;
+        }
+        synchronized (TestSchema.class) {
+            if (!created) {
+                execute(loadScript());
+                created = true;
+            }
+        }
+    }
+
+    @SneakyThrows(IOException.class)
+    private static String loadScript() {
+        try (var inputStream = TestSchema.class.getClassLoader().getResourceAsStream(SCHEMA_RESOURCE)) {
+            if (inputStream == null) {
+                throw new IllegalStateException(SCHEMA_RESOURCE + " is not on the classpath");
+            }
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @SneakyThrows(SQLException.class)
+    private static void execute(String script) {
+        try (var connection = ConnectionManager.get();
+             var statement = connection.createStatement()) {
+            for (var sql : script.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+}
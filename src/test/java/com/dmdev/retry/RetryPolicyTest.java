@@ -0,0 +1,187 @@
+package com.dmdev.retry;
+
+import com.dmdev.exception.ConnectionPoolExhaustedException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryPolicyTest {
+
+    private final RetryPolicy retryPolicy = RetryPolicy.builder()
+            .maxAttempts(3)
+            .initialBackoff(Duration.ofMillis(1))
+            .maxBackoff(Duration.ofMillis(2))
+            .budget(new RetryBudget(0.1, 10))
+            .build();
+
+    @Test
+    void shouldRetryTransientFailureUntilSuccess() {
+        var attempts = new AtomicInteger();
+
+        var actualResult = retryPolicy.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new SQLException("could not serialize access", "40001");
+            }
+            return "ok";
+        });
+
+        var metrics = retryPolicy.getMetrics();
+        assertAll(
+                () -> assertEquals("ok", actualResult),
+                () -> assertEquals(3, attempts.get()),
+                () -> assertEquals(2, metrics.getRetries()),
+                () -> assertEquals(1, metrics.getRecovered()),
+                () -> assertEquals(0, metrics.getGiveUps())
+        );
+    }
+
+    @Test
+    void shouldNotRetryPermanentFailure() {
+        var attempts = new AtomicInteger();
+
+        var exception = assertThrows(SQLException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new SQLException("duplicate key", "23505");
+        }));
+
+        assertEquals("23505", exception.getSQLState());
+        assertEquals(1, attempts.get());
+        assertEquals(1, retryPolicy.getMetrics().getPermanentFailures());
+    }
+
+    @Test
+    void shouldNotRetryConnectionPoolExhaustion() {
+        var attempts = new AtomicInteger();
+
+        assertThrows(ConnectionPoolExhaustedException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ConnectionPoolExhaustedException("No connection available within 1 ms");
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, retryPolicy.getMetrics().getRetries());
+    }
+
+    @Test
+    void shouldNotReplayNonIdempotentCallAfterConnectionFailure() {
+        var attempts = new AtomicInteger();
+
+        assertThrows(SQLException.class, () -> retryPolicy.executeNonIdempotent(() -> {
+            attempts.incrementAndGet();
+            throw new SQLException("connection failure", "08006");
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void shouldReplayNonIdempotentCallAfterSerializationFailure() {
+        var attempts = new AtomicInteger();
+
+        var actualResult = retryPolicy.executeNonIdempotent(() -> {
+            if (attempts.incrementAndGet() < 2) {
+                throw new SQLException("could not serialize access", "40001");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", actualResult);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void shouldStopRetryingAndKeepInterruptFlagWhenInterrupted() {
+        var policy = RetryPolicy.builder()
+                .maxAttempts(3)
+                .initialBackoff(Duration.ofSeconds(1))
+                .maxBackoff(Duration.ofSeconds(1))
+                .build();
+        var attempts = new AtomicInteger();
+        Thread.currentThread().interrupt();
+
+        var exception = assertThrows(SQLException.class, () -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new SQLException("deadlock detected", "40P01");
+        }));
+
+        assertTrue(Thread.interrupted());
+        assertEquals(1, attempts.get());
+        assertThat(exception.getSuppressed()).hasAtLeastOneElementOfType(InterruptedException.class);
+    }
+
+    @Test
+    void shouldGiveUpWhenAttemptsExhausted() {
+        var attempts = new AtomicInteger();
+
+        assertThrows(SQLException.class, () -> retryPolicy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new SQLException("deadlock detected", "40P01");
+        }));
+
+        assertEquals(3, attempts.get());
+        assertEquals(1, retryPolicy.getMetrics().getAttemptsExhausted());
+    }
+
+    @Test
+    void shouldGiveUpWhenBudgetExhausted() {
+        var budget = new RetryBudget(0, 1);
+        var policy = RetryPolicy.builder()
+                .maxAttempts(5)
+                .initialBackoff(Duration.ZERO)
+                .maxBackoff(Duration.ZERO)
+                .budget(budget)
+                .build();
+        var attempts = new AtomicInteger();
+
+        assertThrows(SQLException.class, () -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new SQLException("connection failure", "08006");
+        }));
+
+        assertEquals(2, attempts.get());
+        assertEquals(1, policy.getMetrics().getBudgetExhausted());
+        assertFalse(budget.tryWithdraw());
+    }
+
+    @Test
+    void shouldClassifySqlStates() {
+        assertAll(
+                () -> assertTrue(SqlStateClassifier.isTransient(new SQLException("", "40001"))),
+                () -> assertTrue(SqlStateClassifier.isTransient(new SQLException("", "40P01"))),
+                () -> assertTrue(SqlStateClassifier.isTransient(new SQLException("", "08003"))),
+                () -> assertTrue(SqlStateClassifier.isTransient(new SQLException("", "57P01"))),
+                () -> assertTrue(SqlStateClassifier.isTransient(new SQLException("", "55P03"))),
+                () -> assertTrue(SqlStateClassifier.isTransient(new SQLTransientConnectionException())),
+                () -> assertTrue(SqlStateClassifier.isTransient(new RuntimeException(new SQLException("", "40001")))),
+                () -> assertFalse(SqlStateClassifier.isTransient(new SQLException("", "23505"))),
+                () -> assertFalse(SqlStateClassifier.isTransient(new SQLException("", "42P01"))),
+                () -> assertFalse(SqlStateClassifier.isTransient(new IllegalStateException())),
+                () -> assertTrue(SqlStateClassifier.isSafeToReplay(new SQLException("", "40001"))),
+                () -> assertFalse(SqlStateClassifier.isSafeToReplay(new SQLException("", "08006"))),
+                () -> assertFalse(SqlStateClassifier.isSafeToReplay(new SQLException("", "57P01"))),
+                () -> assertFalse(SqlStateClassifier.isSafeToReplay(new SQLTransientConnectionException()))
+        );
+    }
+
+    @Test
+    void shouldRefillBudgetPerCall() {
+        var budget = new RetryBudget(0.5, 1);
+        budget.tryWithdraw();
+
+        budget.deposit();
+        budget.deposit();
+
+        assertThat(budget.getAvailableRetries()).isEqualTo(1.0);
+        assertTrue(budget.tryWithdraw());
+    }
+}
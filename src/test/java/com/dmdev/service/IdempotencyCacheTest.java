@@ -0,0 +1,138 @@
+package com.dmdev.service;
+
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyCacheTest {
+
+    @Test
+    void shouldReturnStoredResultForRepeatedKey() {
+        var cache = new IdempotencyCache(10, Duration.ofMinutes(1));
+        var loads = new AtomicInteger();
+
+        var first = cache.computeIfAbsent("key", () -> {
+            loads.incrementAndGet();
+            return getSubscription();
+        });
+        var second = cache.computeIfAbsent("key", () -> {
+            loads.incrementAndGet();
+            return getSubscription();
+        });
+
+        assertThat(second).isEqualTo(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldWaitForInFlightResult() throws Exception {
+        var cache = new IdempotencyCache(10, Duration.ofMinutes(1));
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var loads = new AtomicInteger();
+
+        var first = CompletableFuture.supplyAsync(() -> cache.computeIfAbsent("key", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return getSubscription();
+        }));
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+        var duplicate = CompletableFuture.supplyAsync(() -> cache.computeIfAbsent("key", () -> {
+            loads.incrementAndGet();
+            return getSubscription();
+        }));
+        release.countDown();
+
+        assertThat(duplicate.get(1, TimeUnit.SECONDS)).isEqualTo(first.get(1, TimeUnit.SECONDS));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldNotCacheFailure() {
+        var cache = new IdempotencyCache(10, Duration.ofMinutes(1));
+
+        assertThrows(IllegalStateException.class, () -> cache.computeIfAbsent("key", () -> {
+            throw new IllegalStateException();
+        }));
+        var actualResult = cache.computeIfAbsent("key", this::getSubscription);
+
+        assertThat(actualResult).isEqualTo(getSubscription());
+    }
+
+    @Test
+    void shouldEvictEldestEntryIfFull() {
+        var cache = new IdempotencyCache(2, Duration.ofMinutes(1));
+
+        cache.computeIfAbsent("key1", this::getSubscription);
+        cache.computeIfAbsent("key2", this::getSubscription);
+        cache.computeIfAbsent("key3", this::getSubscription);
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotEvictInFlightEntry() throws Exception {
+        var cache = new IdempotencyCache(1, Duration.ofMinutes(1));
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var loads = new AtomicInteger();
+        var first = CompletableFuture.supplyAsync(() -> cache.computeIfAbsent("key1", () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return getSubscription();
+        }));
+        assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+
+        cache.computeIfAbsent("key2", this::getSubscription);
+        var duplicate = CompletableFuture.supplyAsync(() -> cache.computeIfAbsent("key1", () -> {
+            loads.incrementAndGet();
+            return getSubscription();
+        }));
+        release.countDown();
+
+        assertThat(duplicate.get(1, TimeUnit.SECONDS)).isEqualTo(first.get(1, TimeUnit.SECONDS));
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldReturnCopyOfStoredResult() {
+        var cache = new IdempotencyCache(10, Duration.ofMinutes(1));
+        cache.computeIfAbsent("key", this::getSubscription).setStatus(Status.CANCELED);
+
+        var actualResult = cache.computeIfAbsent("key", this::getSubscription);
+
+        assertThat(actualResult.getStatus()).isEqualTo(Status.ACTIVE);
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Subscription getSubscription() {
+        return Subscription.builder()
+                .id(1)
+                .userId(1)
+                .name("Ivan")
+                .provider(Provider.GOOGLE)
+                .expirationDate(Instant.parse("2025-01-23T00:00:00Z"))
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
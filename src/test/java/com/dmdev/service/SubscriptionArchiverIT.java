@@ -0,0 +1,99 @@
+package com.dmdev.service;
+
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import com.dmdev.integration.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionArchiverIT extends IntegrationTestBase {
+
+    private static final Instant NOW = Instant.parse("1990-06-01T00:00:00Z");
+
+    private final SubscriptionDao subscriptionDao = SubscriptionDao.getInstance();
+    private final SubscriptionArchiver subscriptionArchiver = new SubscriptionArchiver(
+            subscriptionDao,
+            Clock.fixed(NOW, ZoneOffset.UTC),
+            Duration.ofDays(30),
+            2
+    );
+
+    @Test
+    void shouldMoveOldTerminalSubscriptionsToArchiveInChunks() {
+        var userId = nextUserId();
+        var expired = seed(
+                getSubscription(userId, "expired-1", Status.EXPIRED, NOW.minus(Duration.ofDays(60))),
+                getSubscription(userId, "expired-2", Status.EXPIRED, NOW.minus(Duration.ofDays(45))),
+                getSubscription(userId, "canceled", Status.CANCELED, NOW.minus(Duration.ofDays(31)))
+        );
+        var retained = seed(
+                getSubscription(userId, "recent", Status.EXPIRED, NOW.minus(Duration.ofDays(5))),
+                getSubscription(userId, "active", Status.ACTIVE, NOW.minus(Duration.ofDays(60)))
+        );
+
+        var actualResult = subscriptionArchiver.archive();
+
+        assertThat(actualResult).isGreaterThanOrEqualTo(expired.size());
+        assertThat(subscriptionDao.findByUserId(userId))
+                .extracting(Subscription::getId)
+                .containsExactlyInAnyOrderElementsOf(retained.stream().map(Subscription::getId).toList());
+        assertThat(subscriptionDao.findByUserId(userId, true))
+                .extracting(Subscription::getName)
+                .containsExactlyInAnyOrder("expired-1", "expired-2", "canceled", "recent", "active");
+    }
+
+    @Test
+    void shouldFindArchivedSubscriptionByIdOnlyWhenRequested() {
+        var subscription = seed(getSubscription(nextUserId(), "archived", Status.CANCELED,
+                NOW.minus(Duration.ofDays(90)))).get(0);
+
+        subscriptionArchiver.archive();
+
+        assertThat(subscriptionDao.findById(subscription.getId())).isEmpty();
+        assertThat(subscriptionDao.findById(subscription.getId(), true))
+                .hasValueSatisfying(archived -> assertThat(archived.getStatus()).isEqualTo(Status.CANCELED));
+        assertThat(subscriptionDao.findAll(true))
+                .extracting(Subscription::getId)
+                .contains(subscription.getId());
+    }
+
+    @Test
+    void shouldPublishArchivedSubscriptionsAsDeletedInChangeFeed() {
+        var subscription = seed(getSubscription(nextUserId(), "archived", Status.EXPIRED,
+                NOW.minus(Duration.ofDays(90)))).get(0);
+
+        subscriptionArchiver.archive();
+
+        assertThat(deletedIdsInChangeFeed()).contains(subscription.getId());
+    }
+
+    private List<Integer> deletedIdsInChangeFeed() {
+        List<Integer> deletedIds = new ArrayList<>();
+        var batch = subscriptionDao.findChangedSince(0, 1000, Duration.ZERO);
+        while (!batch.isEmpty()) {
+            deletedIds.addAll(batch.getDeletedIds());
+            batch = subscriptionDao.findChangedSince(batch.getCursor(), 1000, Duration.ZERO);
+        }
+        return deletedIds;
+    }
+
+    private Subscription getSubscription(Integer userId, String name, Status status, Instant expirationDate) {
+        return Subscription.builder()
+                .userId(userId)
+                .name(name)
+                .provider(Provider.GOOGLE)
+                .expirationDate(expirationDate)
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.dmdev.service;
+
+import com.dmdev.dao.SubscriptionDao;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class SubscriptionArchiverTest {
+
+    private final SubscriptionDao subscriptionDao = mock(SubscriptionDao.class);
+    private final SubscriptionArchiver subscriptionArchiver = new SubscriptionArchiver(
+            subscriptionDao,
+            Clock.systemUTC(),
+            Duration.ofDays(30),
+            10
+    );
+
+    @Test
+    void shouldKeepArchivingAfterFailedRun() throws Exception {
+        var attempts = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            attempts.countDown();
+            throw new IllegalStateException("database unavailable");
+        }).when(subscriptionDao).archive(any(), any(), anyInt());
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            subscriptionArchiver.scheduleArchival(scheduler, Duration.ofMillis(1));
+
+            assertTrue(attempts.await(5, TimeUnit.SECONDS));
+        } finally {
+            scheduler.shutdownNow();
+        }
+
+        assertThat(subscriptionArchiver.getFailedRuns()).isPositive();
+        assertThat(subscriptionArchiver.getLastError()).containsInstanceOf(IllegalStateException.class);
+    }
+}
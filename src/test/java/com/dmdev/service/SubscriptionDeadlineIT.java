@@ -0,0 +1,100 @@
+package com.dmdev.service;
+
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.deadline.Deadline;
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import com.dmdev.exception.DeadlineExceededException;
+import com.dmdev.integration.IntegrationTestBase;
+import com.dmdev.mapper.CreateSubscriptionMapper;
+import com.dmdev.transaction.TransactionTemplate;
+import com.dmdev.util.ConnectionManager;
+import com.dmdev.validator.CreateSubscriptionValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
+
+@ResourceLock(value = IntegrationTestBase.CONNECTION_POOL, mode = READ_WRITE)
+class SubscriptionDeadlineIT extends IntegrationTestBase {
+
+    private final SubscriptionDao subscriptionDao = SubscriptionDao.getInstance();
+    private final SubscriptionService subscriptionService = new SubscriptionService(
+            subscriptionDao,
+            CreateSubscriptionMapper.getInstance(),
+            CreateSubscriptionValidator.getInstance(),
+            Clock.systemUTC(),
+            TransactionTemplate.getInstance()
+    );
+
+    @Test
+    void shouldFailFastIfNoConnectionBeforeDeadline() throws SQLException {
+        var subscription = subscriptionDao.insert(getSubscription(nextUserId()));
+        var connections = drainPool();
+
+        try {
+            var startedAt = System.nanoTime();
+            assertThrows(DeadlineExceededException.class,
+                    () -> subscriptionService.cancel(subscription.getId(), Deadline.after(Duration.ofMillis(50))));
+
+            assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(5));
+        } finally {
+            for (var connection : connections) {
+                connection.close();
+            }
+        }
+        assertThat(subscriptionDao.findById(subscription.getId()).orElseThrow().getStatus()).isEqualTo(Status.ACTIVE);
+    }
+
+    @Test
+    void shouldNotTouchDatabaseIfDeadlineAlreadyExpired() {
+        var subscription = subscriptionDao.insert(getSubscription(nextUserId()));
+
+        assertThrows(DeadlineExceededException.class,
+                () -> subscriptionService.expire(subscription.getId(), Deadline.after(Duration.ofMillis(-1))));
+
+        assertThat(subscriptionDao.findById(subscription.getId()).orElseThrow().getStatus()).isEqualTo(Status.ACTIVE);
+    }
+
+    @Test
+    void shouldCompleteWithinDeadline() {
+        var subscription = subscriptionDao.insert(getSubscription(nextUserId()));
+
+        subscriptionService.cancel(subscription.getId(), Deadline.after(Duration.ofSeconds(5)));
+
+        assertThat(subscriptionDao.findById(subscription.getId()).orElseThrow().getStatus()).isEqualTo(Status.CANCELED);
+    }
+
+    private List<Connection> drainPool() {
+        List<Connection> connections = new ArrayList<>();
+        var deadline = Deadline.after(Duration.ofMillis(200));
+        while (true) {
+            try {
+                connections.add(Deadline.call(deadline, ConnectionManager::get));
+            } catch (DeadlineExceededException e) {
+                return connections;
+            }
+        }
+    }
+
+    private Subscription getSubscription(Integer userId) {
+        return Subscription.builder()
+                .userId(userId)
+                .name("Ivan")
+                .provider(Provider.GOOGLE)
+                .expirationDate(Instant.parse("2099-01-23T00:00:00Z"))
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
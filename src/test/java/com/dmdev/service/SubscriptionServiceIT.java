@@ -1,5 +1,6 @@
 package com.dmdev.service;
 
+import com.dmdev.dao.BulkOperationReport;
 import com.dmdev.dao.SubscriptionDao;
 import com.dmdev.dto.CreateSubscriptionDto;
 import com.dmdev.entity.Provider;
@@ -8,17 +9,22 @@ import com.dmdev.entity.Subscription;
 import com.dmdev.exception.SubscriptionException;
 import com.dmdev.integration.IntegrationTestBase;
 import com.dmdev.mapper.CreateSubscriptionMapper;
+import com.dmdev.transaction.TransactionTemplate;
 import com.dmdev.validator.CreateSubscriptionValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
 
+@Execution(CONCURRENT)
 public class SubscriptionServiceIT extends IntegrationTestBase {
 
     private SubscriptionService subscriptionService;
@@ -32,24 +38,36 @@ public class SubscriptionServiceIT extends IntegrationTestBase {
                 subscriptionDao,
                 CreateSubscriptionMapper.getInstance(),
                 CreateSubscriptionValidator.getInstance(),
-                clock
+                clock,
+                TransactionTemplate.getInstance()
         );
     }
 
     @Test
     void upsertSuccess() {
-        subscriptionDao.insert(getSubscription());
+        var userId = nextUserId();
+        subscriptionDao.insert(getSubscription(userId));
 
-        var upsertSubscription = subscriptionService.upsert(getSubscriptionDto());
+        var upsertSubscription = subscriptionService.upsert(getSubscriptionDto(userId));
         var actualResult = subscriptionDao.findById(upsertSubscription.getId());
 
         assertThat(actualResult).isPresent();
         assertThat(actualResult.get().getId()).isEqualTo(upsertSubscription.getId());
     }
 
+    @Test
+    void shouldFindByUserIdInReadOnlyUnitOfWork() {
+        var subscription = getSubscription(nextUserId());
+        subscriptionDao.insert(subscription);
+
+        var actualResult = subscriptionService.findByUserId(subscription.getUserId());
+
+        assertThat(actualResult).extracting(Subscription::getId).containsExactly(subscription.getId());
+    }
+
     @Test
     void shouldExpireSuccess() {
-        var subscription = getSubscription();
+        var subscription = getSubscription(nextUserId());
         subscriptionDao.insert(subscription);
 
         subscriptionService.expire(subscription.getId());
@@ -61,7 +79,7 @@ public class SubscriptionServiceIT extends IntegrationTestBase {
 
     @Test
     void shouldCanselUnSuccessIfStatusExpired() {
-        var subscription = getSubscription();
+        var subscription = getSubscription(nextUserId());
         subscription.setStatus(Status.EXPIRED);
         subscriptionDao.insert(subscription);
         Optional<Subscription> actualResult = subscriptionDao.findById(subscription.getId());
@@ -73,7 +91,7 @@ public class SubscriptionServiceIT extends IntegrationTestBase {
 
     @Test
     void shouldCancelSuccess() {
-        var subscription = getSubscription();
+        var subscription = getSubscription(nextUserId());
         subscriptionDao.insert(subscription);
 
         subscriptionService.cancel(subscription.getId());
@@ -83,9 +101,54 @@ public class SubscriptionServiceIT extends IntegrationTestBase {
         assertThat(actualResult.get().getStatus()).isEqualTo(Status.CANCELED);
     }
 
+    @Test
+    void shouldCancelAllForUserAndNotifyListeners() {
+        var userId = nextUserId();
+        var subscription1 = getSubscription(userId);
+        var subscription2 = getSubscription(userId).setName("Petr");
+        seed(subscription1, subscription2);
+        var notified = new CopyOnWriteArrayList<Subscription>();
+        subscriptionService.addListener(notified::add);
+
+        var actualResult = subscriptionService.cancelAllForUser(userId);
+
+        assertThat(actualResult.getIds(BulkOperationReport.Outcome.CANCELED))
+                .containsExactlyInAnyOrder(subscription1.getId(), subscription2.getId());
+        assertThat(notified).extracting(Subscription::getStatus).containsOnly(Status.CANCELED);
+        assertThat(subscriptionDao.findByUserId(userId))
+                .extracting(Subscription::getStatus)
+                .containsOnly(Status.CANCELED);
+    }
+
+    @Test
+    void shouldDeleteAllForUserAndNotifyListeners() {
+        var userId = nextUserId();
+        var subscription1 = getSubscription(userId);
+        var subscription2 = getSubscription(userId).setName("Petr");
+        seed(subscription1, subscription2);
+        var deleted = new CopyOnWriteArrayList<Integer>();
+        subscriptionService.addListener(new SubscriptionChangeListener() {
+            @Override
+            public void onChange(Subscription subscription) {
+            }
+
+            @Override
+            public void onDelete(Integer subscriptionId) {
+                deleted.add(subscriptionId);
+            }
+        });
+
+        var actualResult = subscriptionService.deleteAllForUser(userId);
+
+        assertThat(actualResult.getIds(BulkOperationReport.Outcome.DELETED))
+                .containsExactlyInAnyOrder(subscription1.getId(), subscription2.getId());
+        assertThat(deleted).containsExactlyInAnyOrder(subscription1.getId(), subscription2.getId());
+        assertThat(subscriptionDao.findByUserId(userId)).isEmpty();
+    }
+
     @Test
     void shouldCanselUnSuccessIfStatusNotActive() {
-        var subscription = getSubscription();
+        var subscription = getSubscription(nextUserId());
         subscription.setStatus(Status.CANCELED);
         subscriptionDao.insert(subscription);
         var actualResult = subscriptionDao.findById(subscription.getId());
@@ -95,18 +158,18 @@ public class SubscriptionServiceIT extends IntegrationTestBase {
         assertThat(subscriptionException).hasMessageContaining(String.format("Only active subscription %d can be canceled", actualResult.get().getId()));
     }
 
-    private CreateSubscriptionDto getSubscriptionDto() {
+    private CreateSubscriptionDto getSubscriptionDto(Integer userId) {
         return CreateSubscriptionDto.builder()
-                .userId(1)
+                .userId(userId)
                 .name("Ivan")
                 .provider("GOOGLE")
-                .expirationDate(Instant.parse("2025-01-23T00:00:00Z"))
+                .expirationDate(Instant.parse("2099-01-23T00:00:00Z"))
                 .build();
     }
 
-    private Subscription getSubscription() {
+    private Subscription getSubscription(Integer userId) {
         return Subscription.builder()
-                .userId(1)
+                .userId(userId)
                 .name("Ivan")
                 .provider(Provider.GOOGLE)
                 .expirationDate(Instant.parse("2025-01-23T00:00:00Z"))
@@ -1,5 +1,6 @@
 package com.dmdev.service;
 
+import com.dmdev.cache.SubscriptionCache;
 import com.dmdev.dao.SubscriptionDao;
 import com.dmdev.dto.CreateSubscriptionDto;
 import com.dmdev.entity.Provider;
@@ -8,23 +9,32 @@ import com.dmdev.entity.Subscription;
 import com.dmdev.exception.SubscriptionException;
 import com.dmdev.exception.ValidationException;
 import com.dmdev.mapper.CreateSubscriptionMapper;
+import com.dmdev.transaction.TransactionTemplate;
 import com.dmdev.validator.CreateSubscriptionValidator;
 import com.dmdev.validator.Error;
 import com.dmdev.validator.ValidationResult;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -38,8 +48,17 @@ class SubscriptionServiceTest {
     private CreateSubscriptionMapper createSubscriptionMapper;
     @Mock
     private CreateSubscriptionValidator createSubscriptionValidator;
+    @Mock
+    private TransactionTemplate transactionTemplate;
     @InjectMocks
     private SubscriptionService subscriptionService;
+
+    @BeforeEach
+    void runUnitsOfWorkInline() {
+        lenient().doAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get())
+                .when(transactionTemplate).execute(any());
+    }
+
     @Test
     void upsertSuccess() {
         var createSubscriptionDto = getSubscriptionDto();
@@ -67,6 +86,20 @@ class SubscriptionServiceTest {
         verifyNoInteractions(createSubscriptionMapper, subscriptionDao);
     }
 
+    @Test
+    void shouldReadThroughCacheAndRefreshItOnCancel() {
+        var subscription = getSubscription().setId(1);
+        doReturn(Optional.of(subscription)).when(subscriptionDao).findById(subscription.getId());
+        subscriptionService.useCache(new SubscriptionCache(subscriptionDao, Path.of("unused.snapshot"), 10));
+
+        subscriptionService.findById(subscription.getId());
+        subscriptionService.cancel(subscription.getId());
+        var actualResult = subscriptionService.findById(subscription.getId());
+
+        assertThat(actualResult).hasValueSatisfying(found -> assertThat(found.getStatus()).isEqualTo(Status.CANCELED));
+        verify(subscriptionDao, times(2)).findById(subscription.getId());
+    }
+
     @Test
     void cancelSuccess() {
         var createSubscription = getSubscription();
@@ -98,6 +131,19 @@ class SubscriptionServiceTest {
         verify(subscriptionDao).update(createSubscription);
     }
 
+    @Test
+    void shouldNotifyListenersAfterCancel() {
+        var createSubscription = getSubscription();
+        SubscriptionChangeListener listener = mock(SubscriptionChangeListener.class);
+        subscriptionService.addListener(listener);
+        doReturn(Optional.of(createSubscription)).when(subscriptionDao).findById(createSubscription.getUserId());
+
+        subscriptionService.cancel(createSubscription.getUserId());
+
+        verify(listener).onChange(createSubscription);
+        assertThat(createSubscription.getStatus()).isEqualTo(Status.CANCELED);
+    }
+
     @Test
     void shouldSubscriptionExceptionIfStatusExpired() {
         var createSubscription = getSubscription();
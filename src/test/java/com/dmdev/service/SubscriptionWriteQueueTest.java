@@ -0,0 +1,139 @@
+package com.dmdev.service;
+
+import com.dmdev.config.AppConfig;
+import com.dmdev.config.ConfigManager;
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import com.dmdev.exception.AdmissionRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class SubscriptionWriteQueueTest {
+
+    private final SubscriptionDao subscriptionDao = mock(SubscriptionDao.class);
+    private SubscriptionWriteQueue writeQueue;
+
+    @AfterEach
+    void closeQueue() throws InterruptedException {
+        writeQueue.close();
+    }
+
+    @Test
+    void shouldMergeWritesForSameUserAndName() throws Exception {
+        doAnswer(invocation -> invocation.getArgument(0)).when(subscriptionDao).upsertAll(anyList());
+        writeQueue = getWriteQueue(10, 10, Duration.ofMillis(50));
+        var first = getSubscription(1, "Ivan", Instant.parse("2025-01-23T00:00:00Z"));
+        var last = getSubscription(1, "Ivan", Instant.parse("2025-02-23T00:00:00Z"));
+
+        var firstFuture = writeQueue.submit(first);
+        var lastFuture = writeQueue.submit(last);
+
+        assertThat(firstFuture.get(1, TimeUnit.SECONDS)).isEqualTo(last);
+        assertThat(lastFuture.get(1, TimeUnit.SECONDS)).isEqualTo(last);
+        verify(subscriptionDao).upsertAll(List.of(last));
+    }
+
+    @Test
+    void shouldFlushSingleWriteAfterInterval() throws Exception {
+        doAnswer(invocation -> invocation.getArgument(0)).when(subscriptionDao).upsertAll(anyList());
+        writeQueue = getWriteQueue(10, 10, Duration.ofMillis(50));
+        var subscription = getSubscription(1, "Ivan", Instant.parse("2025-01-23T00:00:00Z"));
+
+        var future = writeQueue.submit(subscription);
+
+        assertThat(future.get(1, TimeUnit.SECONDS)).isEqualTo(subscription);
+        verify(subscriptionDao).upsertAll(List.of(subscription));
+    }
+
+    @Test
+    void shouldFlushIfBatchSizeReached() throws Exception {
+        doAnswer(invocation -> invocation.getArgument(0)).when(subscriptionDao).upsertAll(anyList());
+        writeQueue = getWriteQueue(10, 2, Duration.ofHours(1));
+        var subscription1 = getSubscription(1, "Ivan", Instant.parse("2025-01-23T00:00:00Z"));
+        var subscription2 = getSubscription(2, "Petr", Instant.parse("2025-01-23T00:00:00Z"));
+
+        var future1 = writeQueue.submit(subscription1);
+        var future2 = writeQueue.submit(subscription2);
+
+        assertThat(future1.get(1, TimeUnit.SECONDS)).isEqualTo(subscription1);
+        assertThat(future2.get(1, TimeUnit.SECONDS)).isEqualTo(subscription2);
+        verify(subscriptionDao).upsertAll(List.of(subscription1, subscription2));
+    }
+
+    @Test
+    void shouldApplyReloadedBatchSize(@TempDir Path directory) throws Exception {
+        doAnswer(invocation -> invocation.getArgument(0)).when(subscriptionDao).upsertAll(anyList());
+        var overrideFile = directory.resolve("override.properties");
+        var configManager = new ConfigManager(Map.of(
+                AppConfig.WRITE_BATCH_SIZE_KEY, "10",
+                AppConfig.WRITE_FLUSH_INTERVAL_KEY, "3600000")::get, overrideFile);
+        writeQueue = SubscriptionWriteQueue.fromConfig(subscriptionDao, configManager);
+        var subscription = getSubscription(1, "Ivan", Instant.parse("2025-01-23T00:00:00Z"));
+        var future = writeQueue.submit(subscription);
+
+        Files.writeString(overrideFile, AppConfig.WRITE_BATCH_SIZE_KEY + "=1");
+        configManager.reload();
+
+        assertThat(future.get(1, TimeUnit.SECONDS)).isEqualTo(subscription);
+    }
+
+    @Test
+    void shouldRejectIfQueueIsFull() {
+        writeQueue = getWriteQueue(1, 10, Duration.ofHours(1));
+        writeQueue.submit(getSubscription(1, "Ivan", Instant.parse("2025-01-23T00:00:00Z")));
+
+        assertThrows(AdmissionRejectedException.class,
+                () -> writeQueue.submit(getSubscription(2, "Petr", Instant.parse("2025-01-23T00:00:00Z"))));
+    }
+
+    @Test
+    void shouldCompleteExceptionallyIfBatchFails() {
+        doThrow(new IllegalStateException("commit failed")).when(subscriptionDao).upsertAll(anyList());
+        writeQueue = getWriteQueue(10, 1, Duration.ofHours(1));
+
+        var future = writeQueue.submit(getSubscription(1, "Ivan", Instant.parse("2025-01-23T00:00:00Z")));
+
+        var exception = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertThat(exception).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private SubscriptionWriteQueue getWriteQueue(int capacity, int batchSize, Duration flushInterval) {
+        return SubscriptionWriteQueue.builder()
+                .subscriptionDao(subscriptionDao)
+                .capacity(capacity)
+                .batchSize(batchSize)
+                .flushInterval(flushInterval)
+                .offerTimeout(Duration.ofMillis(10))
+                .build();
+    }
+
+    private Subscription getSubscription(Integer userId, String name, Instant expirationDate) {
+        return Subscription.builder()
+                .userId(userId)
+                .name(name)
+                .provider(Provider.GOOGLE)
+                .expirationDate(expirationDate)
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
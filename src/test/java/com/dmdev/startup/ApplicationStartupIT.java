@@ -0,0 +1,67 @@
+package com.dmdev.startup;
+
+import com.dmdev.cache.SubscriptionCache;
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import com.dmdev.integration.IntegrationTestBase;
+import com.dmdev.mapper.CreateSubscriptionMapper;
+import com.dmdev.service.SubscriptionService;
+import com.dmdev.transaction.TransactionTemplate;
+import com.dmdev.util.ConnectionManager;
+import com.dmdev.validator.CreateSubscriptionValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ApplicationStartupIT extends IntegrationTestBase {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldWarmUpAndServeFirstRequest() {
+        seed(Subscription.builder()
+                .userId(nextUserId())
+                .name("Ivan")
+                .provider(Provider.GOOGLE)
+                .expirationDate(Instant.parse("2099-01-23T00:00:00Z"))
+                .status(Status.ACTIVE)
+                .build());
+        var subscriptionCache = new SubscriptionCache(SubscriptionDao.getInstance(),
+                directory.resolve("cache.snapshot"), 100_000);
+        var subscriptionService = new SubscriptionService(
+                SubscriptionDao.getInstance(),
+                CreateSubscriptionMapper.getInstance(),
+                CreateSubscriptionValidator.getInstance(),
+                Clock.systemUTC(),
+                TransactionTemplate.getInstance()
+        );
+        subscriptionService.useCache(subscriptionCache);
+        var applicationStartup = new ApplicationStartup(
+                SubscriptionDao.getInstance(),
+                CreateSubscriptionValidator.getInstance(),
+                CreateSubscriptionMapper.getInstance(),
+                subscriptionCache,
+                subscriptionService,
+                5
+        );
+
+        var report = applicationStartup.start();
+
+        assertTrue(ConnectionManager.isInitialized());
+        assertThat(subscriptionCache.size()).isPositive();
+        assertTrue(report.isFirstRequestSucceeded());
+        assertThat(report.getWarmUpFailures()).isEmpty();
+        assertThat(report.getTimeToFirstRequest()).isGreaterThan(Duration.ZERO);
+        assertThat(report.toString()).contains("time to first request since JVM start");
+    }
+}
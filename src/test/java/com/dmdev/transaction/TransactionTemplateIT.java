@@ -0,0 +1,222 @@
+package com.dmdev.transaction;
+
+import com.dmdev.dao.SubscriptionDao;
+import com.dmdev.entity.Provider;
+import com.dmdev.entity.Status;
+import com.dmdev.entity.Subscription;
+import com.dmdev.integration.IntegrationTestBase;
+import com.dmdev.retry.RetryBudget;
+import com.dmdev.retry.RetryPolicy;
+import com.dmdev.util.ConnectionManager;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.parallel.ExecutionMode.CONCURRENT;
+
+@Execution(CONCURRENT)
+class TransactionTemplateIT extends IntegrationTestBase {
+
+    private final TransactionTemplate transactionTemplate = TransactionTemplate.getInstance();
+    private final SubscriptionDao subscriptionDao = SubscriptionDao.getInstance();
+
+    @Test
+    void shouldReuseOneConnectionWithinUnitOfWork() {
+        var subscription = getSubscription(nextUserId());
+
+        var connections = transactionTemplate.execute(() -> {
+            var first = ConnectionManager.get();
+            subscriptionDao.insert(subscription);
+            var second = ConnectionManager.get();
+            return new Connection[]{first, second};
+        });
+
+        assertSame(connections[0], connections[1]);
+        assertThat(subscriptionDao.findById(subscription.getId())).isPresent();
+    }
+
+    @Test
+    void shouldRollbackAllStatementsWhenActionFails() {
+        var userId = nextUserId();
+
+        assertThrows(IllegalArgumentException.class, () -> transactionTemplate.run(() -> {
+            subscriptionDao.insert(getSubscription(userId));
+            subscriptionDao.insert(getSubscription(userId).setName("Petr"));
+            throw new IllegalArgumentException("boom");
+        }));
+
+        assertThat(subscriptionDao.findByUserId(userId)).isEmpty();
+    }
+
+    @Test
+    void shouldSeeOwnUncommittedWritesInsideUnitOfWork() {
+        var subscription = getSubscription(nextUserId());
+
+        var actualResult = transactionTemplate.execute(() -> {
+            subscriptionDao.insert(subscription);
+            subscription.setStatus(Status.CANCELED);
+            subscriptionDao.update(subscription);
+            return subscriptionDao.findById(subscription.getId());
+        });
+
+        assertThat(actualResult).hasValueSatisfying(found -> assertThat(found.getStatus()).isEqualTo(Status.CANCELED));
+    }
+
+    @Test
+    void shouldJoinOuterUnitOfWork() {
+        var userId = nextUserId();
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.run(() -> {
+            transactionTemplate.run(() -> subscriptionDao.insert(getSubscription(userId)));
+            throw new IllegalStateException("outer failed");
+        }));
+
+        assertThat(subscriptionDao.findByUserId(userId)).isEmpty();
+    }
+
+    @Test
+    void shouldRollbackWhenParticipantMarkedRollbackOnly() {
+        var userId = nextUserId();
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.run(() -> {
+            subscriptionDao.insert(getSubscription(userId));
+            rollbackQuietly(ConnectionManager.get());
+        }));
+
+        assertThat(subscriptionDao.findByUserId(userId)).isEmpty();
+    }
+
+    @Test
+    void shouldApplyIsolationAndRestoreItAfterCommit() throws Exception {
+        var definition = TransactionDefinition.builder()
+                .isolation(Isolation.SERIALIZABLE)
+                .build();
+
+        var physicalConnection = new AtomicReference<Connection>();
+
+        var actualResult = transactionTemplate.execute(definition, () -> {
+            var connection = ConnectionManager.get();
+            physicalConnection.set(unwrap(connection));
+            return isolationOf(connection);
+        });
+
+        assertThat(actualResult).isEqualTo(Connection.TRANSACTION_SERIALIZABLE);
+        assertThat(physicalConnection.get().getTransactionIsolation()).isNotEqualTo(Connection.TRANSACTION_SERIALIZABLE);
+        assertFalse(UnitOfWork.isActive());
+    }
+
+    @Test
+    void shouldRejectNestedDefinitionOuterUnitCannotSatisfy() {
+        var serializable = TransactionDefinition.builder()
+                .isolation(Isolation.SERIALIZABLE)
+                .build();
+
+        assertAll(
+                () -> assertThrows(IllegalStateException.class, () -> transactionTemplate.run(TransactionDefinition.readOnly(),
+                        () -> transactionTemplate.run(() -> ConnectionManager.get()))),
+                () -> assertThrows(IllegalStateException.class, () -> transactionTemplate.run(
+                        () -> transactionTemplate.run(serializable, () -> ConnectionManager.get())))
+        );
+    }
+
+    @Test
+    void shouldJoinOuterUnitThatSatisfiesNestedDefinition() {
+        var serializable = TransactionDefinition.builder()
+                .isolation(Isolation.SERIALIZABLE)
+                .build();
+
+        var actualResult = transactionTemplate.execute(serializable,
+                () -> transactionTemplate.execute(TransactionDefinition.readOnly(), () -> isolationOf(ConnectionManager.get())));
+
+        assertThat(actualResult).isEqualTo(Connection.TRANSACTION_SERIALIZABLE);
+    }
+
+    @Test
+    void shouldNotReplayReadWriteUnitAfterConnectionLoss() {
+        var template = new TransactionTemplate(getRetryPolicy());
+        var attempts = new AtomicInteger();
+
+        assertThrows(SQLException.class, () -> template.run(() -> {
+            attempts.incrementAndGet();
+            throwSqlException(new SQLException("connection lost", "08006"));
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void shouldReplayReadOnlyUnitAfterConnectionLoss() {
+        var template = new TransactionTemplate(getRetryPolicy());
+        var attempts = new AtomicInteger();
+
+        var actualResult = template.execute(TransactionDefinition.readOnly(), () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throwSqlException(new SQLException("connection lost", "08006"));
+            }
+            return attempts.get();
+        });
+
+        assertEquals(2, actualResult);
+    }
+
+    private RetryPolicy getRetryPolicy() {
+        return RetryPolicy.builder()
+                .maxAttempts(3)
+                .initialBackoff(Duration.ofMillis(1))
+                .maxBackoff(Duration.ofMillis(2))
+                .budget(new RetryBudget(0.1, 10))
+                .build();
+    }
+
+    @SneakyThrows
+    private void throwSqlException(SQLException exception) {
+        throw exception;
+    }
+
+    private Connection unwrap(Connection connection) {
+        try {
+            return connection.unwrap(Connection.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private int isolationOf(Connection connection) {
+        try {
+            return connection.getTransactionIsolation();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Subscription getSubscription(Integer userId) {
+        return Subscription.builder()
+                .userId(userId)
+                .name("Ivan")
+                .provider(Provider.GOOGLE)
+                .expirationDate(Instant.parse("2099-01-23T00:00:00Z"))
+                .status(Status.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.dmdev.util;
+
+import com.dmdev.config.ConfigManager;
+import com.dmdev.integration.IntegrationTestBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.parallel.ResourceAccessMode.READ_WRITE;
+
+@ResourceLock(value = IntegrationTestBase.CONNECTION_POOL, mode = READ_WRITE)
+class ConnectionManagerIT extends IntegrationTestBase {
+
+    private final int configuredPoolSize = ConfigManager.getInstance().current().getPoolSize();
+
+    @AfterEach
+    void restorePoolSize() {
+        ConnectionManager.resize(configuredPoolSize);
+    }
+
+    @Test
+    void shouldGrowPool() throws SQLException {
+        ConnectionManager.resize(configuredPoolSize + 2);
+
+        var connections = borrow(configuredPoolSize + 2);
+        try {
+            assertAll(
+                    () -> assertEquals(configuredPoolSize + 2, ConnectionManager.getPoolSize()),
+                    () -> assertTrue(connections.stream().allMatch(this::isValid))
+            );
+        } finally {
+            closeAll(connections);
+        }
+    }
+
+    @Test
+    void shouldRetireBorrowedConnectionsWhenShrinking() throws SQLException {
+        var connections = borrow(configuredPoolSize);
+
+        ConnectionManager.resize(1);
+        closeAll(connections);
+
+        try (var connection = ConnectionManager.get()) {
+            assertAll(
+                    () -> assertEquals(1, ConnectionManager.getPoolSize()),
+                    () -> assertTrue(isValid(connection))
+            );
+        }
+    }
+
+    private List<Connection> borrow(int count) {
+        List<Connection> connections = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            connections.add(ConnectionManager.get());
+        }
+        return connections;
+    }
+
+    private void closeAll(List<Connection> connections) throws SQLException {
+        for (var connection : connections) {
+            connection.close();
+        }
+    }
+
+    private boolean isValid(Connection connection) {
+        try (var statement = connection.createStatement()) {
+            return statement.execute("SELECT 1");
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
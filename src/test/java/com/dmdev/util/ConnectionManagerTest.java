@@ -0,0 +1,38 @@
+package com.dmdev.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ConnectionManagerTest {
+
+    @Test
+    void shouldCloseOpenedConnectionsWhenAnyOpenFails() throws SQLException {
+        var attempts = new AtomicInteger();
+        List<Connection> opened = new CopyOnWriteArrayList<>();
+
+        assertThrows(CompletionException.class, () -> ConnectionManager.openAll(4, () -> {
+            if (attempts.incrementAndGet() == 2) {
+                throw new IllegalStateException("db unavailable");
+            }
+            var connection = mock(Connection.class);
+            opened.add(connection);
+            return connection;
+        }));
+
+        assertThat(opened).hasSize(3);
+        for (var connection : opened) {
+            verify(connection).close();
+        }
+    }
+}
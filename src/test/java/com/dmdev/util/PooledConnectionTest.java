@@ -0,0 +1,193 @@
+package com.dmdev.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PooledConnectionTest {
+
+    private static final String SQL = "SELECT id FROM subscription WHERE id = ?";
+
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final ArrayBlockingQueue<PooledConnection> pool = new ArrayBlockingQueue<>(2);
+    private final StatementCacheStats stats = new StatementCacheStats();
+
+    @Test
+    void shouldReusePreparedStatementForSameSql() throws SQLException {
+        doReturn(statement).when(connection).prepareStatement(SQL, Statement.NO_GENERATED_KEYS);
+        var pooledConnection = new PooledConnection(connection, pool, 2, stats).checkOut();
+
+        pooledConnection.prepareStatement(SQL).close();
+        pooledConnection.prepareStatement(SQL).close();
+
+        verify(connection, times(1)).prepareStatement(SQL, Statement.NO_GENERATED_KEYS);
+        verify(statement, times(2)).clearParameters();
+        verify(statement, times(2)).clearBatch();
+        verify(statement, times(0)).close();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCloseEvictedStatement() throws SQLException {
+        var otherStatement = mock(PreparedStatement.class);
+        doReturn(statement).when(connection).prepareStatement(SQL, Statement.NO_GENERATED_KEYS);
+        doReturn(otherStatement).when(connection).prepareStatement("SELECT 1", Statement.NO_GENERATED_KEYS);
+        var pooledConnection = new PooledConnection(connection, pool, 1, stats).checkOut();
+
+        pooledConnection.prepareStatement(SQL).close();
+        pooledConnection.prepareStatement("SELECT 1").close();
+
+        verify(statement).close();
+        assertThat(stats.getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPrepareUncachedStatementWhileCachedOneIsInUse() throws SQLException {
+        var uncached = mock(PreparedStatement.class);
+        doReturn(statement, uncached).when(connection).prepareStatement(SQL, Statement.NO_GENERATED_KEYS);
+        var pooledConnection = new PooledConnection(connection, pool, 2, stats).checkOut();
+
+        var outer = pooledConnection.prepareStatement(SQL);
+        var nested = pooledConnection.prepareStatement(SQL);
+        nested.setInt(1, 2);
+        nested.close();
+        outer.close();
+        pooledConnection.prepareStatement(SQL).close();
+
+        verify(uncached).setInt(1, 2);
+        verify(uncached).close();
+        verify(statement, times(0)).setInt(1, 2);
+        verify(connection, times(2)).prepareStatement(SQL, Statement.NO_GENERATED_KEYS);
+        assertThat(stats.getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectCallsOnReturnedStatement() throws SQLException {
+        doReturn(statement).when(connection).prepareStatement(SQL, Statement.NO_GENERATED_KEYS);
+        var pooledConnection = new PooledConnection(connection, pool, 2, stats).checkOut();
+        var returned = pooledConnection.prepareStatement(SQL);
+        returned.close();
+
+        assertTrue(returned.isClosed());
+        assertThrows(SQLException.class, returned::cancel);
+        verify(statement, times(0)).cancel();
+    }
+
+    @Test
+    void shouldCloseEvictedStatementOnlyAfterItIsReturned() throws SQLException {
+        var otherStatement = mock(PreparedStatement.class);
+        doReturn(statement).when(connection).prepareStatement(SQL, Statement.NO_GENERATED_KEYS);
+        doReturn(otherStatement).when(connection).prepareStatement("SELECT 1", Statement.NO_GENERATED_KEYS);
+        var pooledConnection = new PooledConnection(connection, pool, 1, stats).checkOut();
+
+        var open = pooledConnection.prepareStatement(SQL);
+        pooledConnection.prepareStatement("SELECT 1").close();
+        verify(statement, times(0)).close();
+        open.close();
+
+        verify(statement).close();
+    }
+
+    @Test
+    void shouldReturnConnectionToPoolOnClose() throws SQLException {
+        doReturn(true).when(connection).getAutoCommit();
+        var pooledConnection = new PooledConnection(connection, pool, 1, stats).checkOut();
+
+        pooledConnection.close();
+
+        assertThat(pool).extracting(PooledConnection::proxy).containsExactly(pooledConnection);
+        verify(connection, times(0)).close();
+    }
+
+    @Test
+    void shouldIgnoreSecondClose() throws SQLException {
+        doReturn(true).when(connection).getAutoCommit();
+        var pooledConnection = new PooledConnection(connection, pool, 1, stats).checkOut();
+
+        pooledConnection.close();
+        pooledConnection.close();
+
+        assertThat(pool).hasSize(1);
+    }
+
+    @Test
+    void shouldRejectCallsAfterClose() throws SQLException {
+        doReturn(true).when(connection).getAutoCommit();
+        var pooledConnection = new PooledConnection(connection, pool, 1, stats).checkOut();
+
+        pooledConnection.close();
+
+        assertTrue(pooledConnection.isClosed());
+        var exception = assertThrows(SQLException.class, () -> pooledConnection.prepareStatement(SQL));
+        assertEquals("Connection is closed", exception.getMessage());
+    }
+
+    @Test
+    void shouldCloseRetiredConnectionInsteadOfReturningIt() throws SQLException {
+        doReturn(true).when(connection).getAutoCommit();
+        var pooledConnection = new PooledConnection(connection, pool, 1, stats);
+        var borrowed = pooledConnection.checkOut();
+
+        var idle = pooledConnection.retire();
+        borrowed.close();
+
+        assertFalse(idle);
+        assertThat(pool).isEmpty();
+        verify(connection).close();
+    }
+
+    @Test
+    void shouldReportIdleConnectionOnRetire() throws SQLException {
+        doReturn(true).when(connection).getAutoCommit();
+        var pooledConnection = new PooledConnection(connection, pool, 1, stats);
+        pooledConnection.checkOut().close();
+
+        var idle = pooledConnection.retire();
+
+        assertTrue(idle);
+        assertThat(pool).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceClosedConnectionOnRelease() throws Exception {
+        var reopened = mock(Connection.class);
+        doReturn(true).when(connection).isClosed();
+        doReturn(statement).when(reopened).prepareStatement(SQL, Statement.NO_GENERATED_KEYS);
+        var pooledConnection = new PooledConnection(connection, () -> reopened, pool, 1, stats).checkOut();
+
+        pooledConnection.close();
+        pool.take().checkOut().prepareStatement(SQL);
+
+        assertThat(pool).isEmpty();
+        verify(reopened).prepareStatement(SQL, Statement.NO_GENERATED_KEYS);
+    }
+
+    @Test
+    void shouldCountFailedReconnect() throws Exception {
+        doReturn(true).when(connection).isClosed();
+        var pooledConnection = new PooledConnection(connection, () -> {
+            throw new IllegalStateException("database unavailable");
+        }, pool, 1, stats).checkOut();
+
+        pooledConnection.close();
+
+        assertThat(stats.getReconnectFailures()).isEqualTo(1);
+        assertThat(pool).hasSize(1);
+    }
+}
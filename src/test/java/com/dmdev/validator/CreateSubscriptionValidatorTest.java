@@ -4,6 +4,7 @@ import com.dmdev.dto.CreateSubscriptionDto;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -21,7 +22,7 @@ class CreateSubscriptionValidatorTest {
                 .userId(1)
                 .name("Ivan")
                 .provider("GOOGLE")
-                .expirationDate(Instant.parse("2025-01-23T00:00:00Z"))
+                .expirationDate(Instant.parse("2099-01-23T00:00:00Z"))
                 .build();
 
         var actual = validator.validate(dto);
@@ -36,7 +37,7 @@ class CreateSubscriptionValidatorTest {
                 .userId(null)
                 .name("Ivan")
                 .provider("GOOGLE")
-                .expirationDate(Instant.parse("2025-01-23T00:00:00Z"))
+                .expirationDate(Instant.parse("2099-01-23T00:00:00Z"))
                 .build();
 
         var validationResult = validator.validate(dto);
@@ -57,7 +58,7 @@ class CreateSubscriptionValidatorTest {
                 .userId(1)
                 .name("")
                 .provider("GOOGLE")
-                .expirationDate(Instant.parse("2025-01-23T00:00:00Z"))
+                .expirationDate(Instant.parse("2099-01-23T00:00:00Z"))
                 .build();
 
         var validationResult = validator.validate(dto);
@@ -77,7 +78,7 @@ class CreateSubscriptionValidatorTest {
                 .userId(1)
                 .name("Ivan")
                 .provider("some_provider")
-                .expirationDate(Instant.parse("2025-01-23T00:00:00Z"))
+                .expirationDate(Instant.parse("2099-01-23T00:00:00Z"))
                 .build();
 
         var validationResult = validator.validate(dto);
@@ -131,4 +132,81 @@ class CreateSubscriptionValidatorTest {
                 () -> assertThat(mapErrors).containsValues("userId is invalid", "name is invalid", "provider is invalid", "expirationDate is invalid")
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnIndependentResultsIfValid() {
+        var dto = getDto(1, "Ivan", "GOOGLE");
+
+        var first = validator.validate(dto);
+        var second = validator.validate(dto);
+        first.add(Error.of(100, "userId is invalid"));
+
+        assertFalse(second.hasErrors());
+        assertFalse(ValidationResult.valid().hasErrors());
+        assertTrue(first.hasErrors());
+    }
+
+    @Test
+    void shouldValidateAllAndReportErrorMasks() {
+        var dtos = new CreateSubscriptionDto[]{
+                getDto(1, "Ivan", "GOOGLE"),
+                getDto(null, "Ivan", "some_provider"),
+                getDto(1, "Ivan", "apple")
+        };
+
+        var actual = validator.validateAll(dtos, false);
+
+        assertAll(
+                () -> assertTrue(actual.isComplete()),
+                () -> assertTrue(actual.hasErrors()),
+                () -> assertTrue(actual.isValid(0)),
+                () -> assertTrue(actual.isValid(2)),
+                () -> assertThat(actual.getErrorMask(1)).isEqualTo(CreateSubscriptionValidator.INVALID_USER_ID
+                                                                  | CreateSubscriptionValidator.INVALID_PROVIDER),
+                () -> assertThat(actual.getInvalidIndexes()).isEqualTo(List.of(1)),
+                () -> assertThat(actual.getErrors(1)).extracting(Error::getCode).containsExactly(100, 102)
+        );
+    }
+
+    @Test
+    void shouldValidateAllInParallelForLargeBatch() {
+        var dtos = new CreateSubscriptionDto[10_000];
+        for (int i = 0; i < dtos.length; i++) {
+            dtos[i] = i % 1000 == 0
+                    ? getDto(i, " ", "GOOGLE")
+                    : getDto(i, "Ivan", "GOOGLE");
+        }
+
+        var actual = validator.validateAll(dtos, false);
+
+        assertThat(actual.getInvalidIndexes()).hasSize(10);
+        assertThat(actual.getErrorMask(5000)).isEqualTo(CreateSubscriptionValidator.INVALID_NAME);
+    }
+
+    @Test
+    void shouldStopValidationOnFirstErrorIfFailFast() {
+        var dtos = new CreateSubscriptionDto[100];
+        for (int i = 0; i < dtos.length; i++) {
+            dtos[i] = getDto(i == 10 ? null : i, "Ivan", "GOOGLE");
+        }
+
+        var actual = validator.validateAll(dtos, true);
+
+        assertAll(
+                () -> assertFalse(actual.isComplete()),
+                () -> assertThat(actual.getInvalidIndexes()).containsExactly(10),
+                () -> assertFalse(actual.isValidated(99)),
+                () -> assertFalse(actual.isValid(99)),
+                () -> assertTrue(actual.isValid(0))
+        );
+    }
+
+    private CreateSubscriptionDto getDto(Integer userId, String name, String provider) {
+        return CreateSubscriptionDto.builder()
+                .userId(userId)
+                .name(name)
+                .provider(provider)
+                .expirationDate(Instant.parse("2099-01-23T00:00:00Z"))
+                .build();
+    }
+}
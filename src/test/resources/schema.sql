@@ -0,0 +1,49 @@
+CREATE SEQUENCE IF NOT EXISTS subscription_mod_seq;
+
+CREATE TABLE IF NOT EXISTS subscription
+(
+    id INT AUTO_INCREMENT PRIMARY KEY ,
+    user_id INT NOT NULL ,
+    name VARCHAR(64) NOT NULL ,
+    provider VARCHAR(16) NOT NULL ,
+    expiration_date DATETIME NOT NULL ,
+    status VARCHAR(16) NOT NULL ,
+    mod_seq BIGINT NOT NULL ,
+    modified_at DATETIME DEFAULT LOCALTIMESTAMP NOT NULL ,
+    UNIQUE (user_id, name)
+);
+
+CREATE INDEX IF NOT EXISTS subscription_mod_seq_idx ON subscription (mod_seq);
+CREATE INDEX IF NOT EXISTS subscription_status_expiration_date_idx ON subscription (status, expiration_date);
+
+CREATE TABLE IF NOT EXISTS subscription_archive
+(
+    id INT PRIMARY KEY ,
+    user_id INT NOT NULL ,
+    name VARCHAR(64) NOT NULL ,
+    provider VARCHAR(16) NOT NULL ,
+    expiration_date DATETIME NOT NULL ,
+    status VARCHAR(16) NOT NULL ,
+    archived_at DATETIME NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS subscription_archive_user_id_idx ON subscription_archive (user_id);
+
+CREATE TABLE IF NOT EXISTS idempotency_key
+(
+    idempotency_key VARCHAR(128) PRIMARY KEY ,
+    subscription_id INT NOT NULL ,
+    user_id INT NOT NULL ,
+    name VARCHAR(64) NOT NULL ,
+    provider VARCHAR(16) NOT NULL ,
+    expiration_date DATETIME NOT NULL ,
+    status VARCHAR(16) NOT NULL ,
+    created_at DATETIME NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS subscription_tombstone
+(
+    mod_seq BIGINT PRIMARY KEY ,
+    id INT NOT NULL ,
+    modified_at DATETIME DEFAULT LOCALTIMESTAMP NOT NULL
+);